@@ -0,0 +1,78 @@
+package com.skillswap.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 🔀 READ/WRITE SPLIT (only when skillswap.datasource.routing.enabled=true)
+// @Transactional(readOnly = true) -> ReplicaRoutingDataSource (replicas, load balanced)
+// everything else                 -> primary
+// Needs spring.jpa.open-in-view=false, otherwise the first connection of a request is held for all of it.
+@Configuration
+@ConditionalOnProperty(name = "skillswap.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReadReplicaConfig {
+
+    // A bean of its own: closed on shutdown and picked up by the Hikari pool metrics.
+    // spring.datasource.hikari.* is bound here just like on the auto-configured pool.
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    // Owns the replica pools (closes them on shutdown; metrics registered here since they aren't beans).
+    // Replicas get the same spring.datasource.hikari.* settings as the primary, only url/credentials differ.
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties primaryProperties,
+                                                             ReplicaRoutingProperties properties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource ds = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(ds));
+            ds.setJdbcUrl(replica.url());
+            ds.setUsername(replica.username());
+            ds.setPassword(replica.password());
+            ds.setDriverClassName(primaryProperties.getDriverClassName());
+            ds.setReadOnly(true);
+            ds.setPoolName("replica-" + i);
+            meterRegistry.ifAvailable(ds::setMetricRegistry);
+            replicas.put("replica-" + i, ds);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.maxLag());
+    }
+
+    // The DataSource JPA actually uses. The lazy proxy only grabs a physical connection on the first
+    // statement, by which point it knows whether the transaction is read-only.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing.getPrimary());
+        proxy.setReadOnlyDataSource(routing);
+        return proxy;
+    }
+}
@@ -0,0 +1,120 @@
+package com.skillswap.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Picks the connection for READ-ONLY work: round-robin over replicas that are up and not lagging,
+// falling back to the primary when none qualify (or when the caller needs read-your-writes).
+// Writes never come through here - see ReadReplicaConfig.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Duration maxLag;
+    private final boolean checkLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    // replica key -> last measured lag in ms (missing = down / not measured yet)
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxLag = maxLag;
+        this.checkLag = !maxLag.isZero();
+
+        Map<Object, Object> targets = new LinkedHashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (Boolean.TRUE.equals(FORCE_PRIMARY.get())) {
+            return PRIMARY;
+        }
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (isUsable(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private boolean isUsable(String key) {
+        if (!checkLag) return true;
+        Long lag = lagMillis.get(key);
+        return lag != null && lag <= maxLag.toMillis();
+    }
+
+    // Called by ReplicaLagMonitor
+    public void updateLag(String key, long millis) {
+        lagMillis.put(key, millis);
+    }
+
+    public void markDown(String key) {
+        lagMillis.remove(key);
+    }
+
+    // false = max-lag is 0, every replica counts as up to date
+    public boolean isLagChecked() {
+        return checkLag;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public Map<String, Long> getLagMillis() {
+        return Map.copyOf(lagMillis);
+    }
+
+    // Replica pools are created and owned here; the primary is its own bean and closed by Spring
+    @Override
+    public void close() {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    System.err.println("⚠️ Closing replica pool failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Run a read on the PRIMARY even though it is readOnly (read-your-writes).
+    // Must be entered BEFORE the transaction touches the database.
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) FORCE_PRIMARY.remove();
+            else FORCE_PRIMARY.set(previous);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.skillswap.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// skillswap.datasource.routing.* (see application.properties)
+@ConfigurationProperties("skillswap.datasource.routing")
+public record ReplicaRoutingProperties(
+        boolean enabled,
+        // Replicas further behind than this are skipped. 0 = don't check lag at all (e.g. two unrelated local H2s)
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("2000") long lagCheckIntervalMs,
+        List<Replica> replicas
+) {
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,40 @@
+package com.skillswap.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// ⏱️ Logs JVM start -> context ready, and JVM start -> first request served (time-to-first-request)
+@Component
+public class StartupReport extends OncePerRequestFilter {
+
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        System.out.println("⏱️ STARTUP: ready in " + event.getTimeTaken().toMillis() + " ms (JVM uptime "
+                + ManagementFactory.getRuntimeMXBean().getUptime() + " ms)");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!firstRequestSeen.get() && firstRequestSeen.compareAndSet(false, true)) {
+                System.out.println("⏱️ STARTUP: first request (" + request.getRequestURI() + ") served "
+                        + ManagementFactory.getRuntimeMXBean().getUptime() + " ms after JVM start");
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.skillswap.controller;
+
+import com.skillswap.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// All answers come from the precomputed rollups - see AnalyticsService. Dates default to the last 30 days.
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    // 1. TIME SERIES: /api/analytics/daily/MESSAGES_SENT?from=2026-01-01&to=2026-01-31
+    @GetMapping("/daily/{metric}")
+    public List<AnalyticsService.DailyValue> getDaily(
+            @PathVariable String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return analyticsService.getDaily(metric.toUpperCase(), fromOrDefault(from), toOrDefault(to));
+    }
+
+    // 2. SESSIONS PER SKILL (attributed to the mentor's skills at booking time)
+    @GetMapping("/sessions-per-skill")
+    public List<AnalyticsService.SkillSessions> getSessionsPerSkill(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return analyticsService.getSessionsPerSkill(fromOrDefault(from), toOrDefault(to));
+    }
+
+    // 3. CONNECTION ACCEPTANCE RATE
+    @GetMapping("/connections/acceptance")
+    public AnalyticsService.AcceptanceRate getConnectionAcceptance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return analyticsService.getConnectionAcceptance(fromOrDefault(from), toOrDefault(to));
+    }
+
+    // 4. LEADERBOARD: top mentors by completed sessions (all time)
+    @GetMapping("/leaderboard/mentors")
+    public List<AnalyticsService.MentorRank> getTopMentors(@RequestParam(defaultValue = "10") int limit) {
+        return analyticsService.getTopMentors(Math.max(1, Math.min(limit, 100)));
+    }
+
+    private static LocalDate fromOrDefault(LocalDate from) {
+        return from != null ? from : LocalDate.now().minusDays(29);
+    }
+
+    private static LocalDate toOrDefault(LocalDate to) {
+        return to != null ? to : LocalDate.now();
+    }
+}
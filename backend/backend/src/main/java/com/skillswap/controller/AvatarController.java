@@ -0,0 +1,88 @@
+package com.skillswap.controller;
+
+import com.skillswap.service.AvatarService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+public class AvatarController {
+
+    // Tomcat sendfile: the connector copies the file to the socket itself (zero-copy), no bytes pass through Java
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private AvatarService avatarService;
+
+    // 1. UPLOAD AVATAR (multipart "file") -> avatarUrl switches to the local thumbnail once it's generated
+    @PostMapping("/api/users/{userId}/avatar")
+    public Map<String, String> uploadAvatar(@PathVariable Long userId, @RequestParam("file") MultipartFile file) throws IOException {
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        return Map.of("avatarUrl", avatarService.store(userId, file, baseUrl));
+    }
+
+    // 2. SERVE AVATAR. File names are content hashes, so they never change -> cache for a year.
+    @GetMapping("/avatars/{fileName:[0-9a-f]{64}-[0-9]+\\.jpg}")
+    public ResponseEntity<Resource> getAvatar(@PathVariable String fileName,
+                                              @RequestHeader HttpHeaders requestHeaders,
+                                              HttpServletRequest request) throws IOException {
+        Path file = avatarService.resolve(fileName);
+        CacheControl cache = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+        if (!Files.exists(file)) {
+            // Thumbnail still being generated: serve the original for now, but don't let anyone cache it
+            Path original = avatarService.original(fileName);
+            if (!Files.exists(original)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(new FileSystemResource(original));
+        }
+
+        String etag = "\"" + fileName + "\"";
+        if (etag.equals(requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(304).eTag(etag).cacheControl(cache).build();
+        }
+
+        long length = Files.size(file);
+        if (requestHeaders.getRange().isEmpty() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(cache)
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .contentLength(length)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .build();
+        }
+
+        // Range requests (and containers without sendfile): Spring answers 206 with the requested bytes
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cache)
+                .contentType(MediaType.IMAGE_JPEG)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(new FileSystemResource(file));
+    }
+}
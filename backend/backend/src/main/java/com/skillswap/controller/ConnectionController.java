@@ -4,6 +4,8 @@ import com.skillswap.model.Connection;
 import com.skillswap.model.User;
 import com.skillswap.repository.ConnectionRepository;
 import com.skillswap.repository.UserRepository;
+import com.skillswap.service.ConnectionService;
+import com.skillswap.service.PresenceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,39 +23,19 @@ public class ConnectionController {
     private UserRepository userRepo;
 
     @Autowired
-    private com.skillswap.service.EmailService emailService;
+    private ConnectionService connectionService;
 
-    // 1. Send Request
+    @Autowired
+    private PresenceService presenceService;
+
+    // 1. Send Request (idempotent - a repeat returns the existing connection)
     @PostMapping("/request")
-    public Connection sendRequest(
+    public ConnectionService.SentRequest sendRequest(
             @RequestParam Long requesterId,
             @RequestParam Long receiverId,
             @RequestParam(required = false) String message
     ) {
-        User requester = userRepo.findById(requesterId)
-                .orElseThrow(() -> new RuntimeException("Requester not found"));
-        User receiver = userRepo.findById(receiverId)
-                .orElseThrow(() -> new RuntimeException("Receiver not found"));
-
-        // Check for duplicates
-        if (connectionRepo.existsByRequesterAndReceiver(requester, receiver)) {
-            throw new RuntimeException("Request already sent!");
-        }
-
-        Connection conn = new Connection();
-        conn.setRequester(requester);
-        conn.setReceiver(receiver);
-        conn.setStatus("PENDING");
-        conn.setMessage(message); // Now matches the Model field
-        Connection savedConn = connectionRepo.save(conn);
-        if (receiver.getEmail() != null && !receiver.getEmail().isEmpty()) {
-            emailService.sendConnectionRequestEmail(
-                    receiver.getEmail(),
-                    requester.getName(),
-                    message
-            );
-        }
-        return connectionRepo.save(conn);
+        return connectionService.sendRequest(requesterId, receiverId, message);
     }
 
     // 2. Get Pending Requests
@@ -71,13 +53,7 @@ public class ConnectionController {
             @PathVariable Long connectionId,
             @RequestParam String status
     ) {
-        Connection conn = connectionRepo.findById(connectionId)
-                .orElseThrow(() -> new RuntimeException("Connection not found"));
-
-        // Convert "accepted" -> "ACCEPTED" to match DB convention
-        conn.setStatus(status.toUpperCase());
-
-        return connectionRepo.save(conn);
+        return connectionService.updateStatus(connectionId, status);
     }
 
     // 4. Get ALL My Connections (Accepted, Pending, Rejected)
@@ -89,4 +65,10 @@ public class ConnectionController {
         // Uses the new clean query with ONE parameter
         return connectionRepo.findAllConnections(user);
     }
-}
\ No newline at end of file
+
+    // 5. Which of my connections are online right now? (ids only, pairs with getMyConnections)
+    @GetMapping("/user/{userId}/online")
+    public List<Long> getOnlineConnections(@PathVariable Long userId) {
+        return presenceService.onlineAmong(connectionRepo.findPartnerIds(userId));
+    }
+}
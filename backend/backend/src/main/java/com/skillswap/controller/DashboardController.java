@@ -0,0 +1,24 @@
+package com.skillswap.controller;
+
+import com.skillswap.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:5173")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // 1. EVERYTHING FOR THE HOME SCREEN IN ONE CALL
+    // ?sections=me,users,pending,connections,sessions,skills (any subset, default = all)
+    @GetMapping("/{userId}")
+    public DashboardService.Dashboard getDashboard(@PathVariable Long userId,
+                                                   @RequestParam(required = false) List<String> sections) {
+        return dashboardService.load(userId, sections);
+    }
+}
@@ -0,0 +1,50 @@
+package com.skillswap.controller;
+
+import com.skillswap.repository.UserRepository;
+import com.skillswap.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    // 1. EXPORT MY DATA (profile, connections, sessions, messages) as NDJSON
+    // Streamed straight to the client - nothing is collected into a List first.
+    @GetMapping("/{userId}")
+    public ResponseEntity<StreamingResponseBody> exportUser(@PathVariable Long userId) {
+        // Fail BEFORE the 200 is committed - once streaming starts we can't change the status
+        if (!userRepo.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+
+        // Each export holds a connection for as long as the client takes to download - cap how many run at once
+        if (!exportService.tryStartExport()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                exportService.writeUserExport(userId, out);
+            } finally {
+                exportService.finishExport();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"skillswap-export-" + userId + ".ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
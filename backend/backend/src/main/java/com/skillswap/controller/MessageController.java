@@ -1,13 +1,12 @@
 package com.skillswap.controller;
 
 import com.skillswap.model.Message;
-import com.skillswap.model.User;
-import com.skillswap.repository.MessageRepository;
-import com.skillswap.repository.UserRepository;
+import com.skillswap.service.MessageSearchService;
+import com.skillswap.service.MessageService;
+import com.skillswap.service.ReadYourWritesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -17,10 +16,13 @@ import java.util.Map;
 public class MessageController {
 
     @Autowired
-    private MessageRepository messageRepo;
+    private MessageService messageService;
 
     @Autowired
-    private UserRepository userRepo;
+    private ReadYourWritesService readYourWrites;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
 
     // 1. SEND MESSAGE
     @PostMapping("/send")
@@ -29,24 +31,24 @@ public class MessageController {
         Long receiverId = Long.valueOf(payload.get("receiverId").toString());
         String text = (String) payload.get("text");
 
-        User sender = userRepo.findById(senderId).orElseThrow();
-        User receiver = userRepo.findById(receiverId).orElseThrow();
-
-        Message msg = new Message();
-        msg.setSender(sender);
-        msg.setReceiver(receiver);
-        msg.setText(text);
-        msg.setTimestamp(LocalDateTime.now()); // Set time manually to be safe
-
-        return messageRepo.save(msg);
+        Message saved = messageService.sendMessage(senderId, receiverId, text);
+        // Both sides re-fetch the thread right away - keep them on the primary for a moment
+        readYourWrites.recordWrite(senderId, receiverId);
+        return saved;
     }
 
     // 2. GET CONVERSATION (History)
     @GetMapping("/{userId1}/{userId2}")
     public List<Message> getConversation(@PathVariable Long userId1, @PathVariable Long userId2) {
-        User user1 = userRepo.findById(userId1).orElseThrow();
-        User user2 = userRepo.findById(userId2).orElseThrow();
+        return readYourWrites.read(() -> messageService.getConversation(userId1, userId2), userId1, userId2);
+    }
 
-        return messageRepo.findConversation(user1, user2);
+    // 3. SEARCH MY MESSAGES (?q=react hooks, newest first; pass nextCursor back as ?before= for more)
+    @GetMapping("/search/{userId}")
+    public MessageSearchService.SearchPage search(@PathVariable Long userId,
+                                                  @RequestParam String q,
+                                                  @RequestParam(required = false) Long before,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        return messageSearchService.search(userId, q, before, limit);
     }
-}
\ No newline at end of file
+}
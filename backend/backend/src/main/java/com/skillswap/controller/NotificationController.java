@@ -0,0 +1,44 @@
+package com.skillswap.controller;
+
+import com.skillswap.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    // 1. FEED PAGE: /api/notifications/{userId}?before={nextCursor}&limit=20
+    @GetMapping("/{userId}")
+    public NotificationService.NotificationPage getFeed(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return notificationService.getPage(userId, before, limit);
+    }
+
+    // 2. BELL: unread counter (served from memory)
+    @GetMapping("/{userId}/unread-count")
+    public Map<String, Long> getUnreadCount(@PathVariable Long userId) {
+        return Map.of("unread", notificationService.getUnreadCount(userId));
+    }
+
+    // 3. MARK AS READ (batch): body = [12, 13, 17]
+    @PostMapping("/{userId}/read")
+    public Map<String, Integer> markRead(@PathVariable Long userId, @RequestBody List<Long> ids) {
+        return Map.of("updated", notificationService.markRead(userId, ids));
+    }
+
+    // 4. MARK ALL AS READ
+    @PostMapping("/{userId}/read-all")
+    public Map<String, Integer> markAllRead(@PathVariable Long userId) {
+        return Map.of("updated", notificationService.markAllRead(userId));
+    }
+}
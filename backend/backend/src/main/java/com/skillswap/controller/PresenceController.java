@@ -0,0 +1,33 @@
+package com.skillswap.controller;
+
+import com.skillswap.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/presence")
+public class PresenceController {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    // 1. HEARTBEAT (frontend calls this every ~20s while the tab is open)
+    @PostMapping("/heartbeat/{userId}")
+    public void heartbeat(@PathVariable Long userId) {
+        presenceService.heartbeat(userId);
+    }
+
+    // 2. GOING OFFLINE (logout / tab close)
+    @DeleteMapping("/{userId}")
+    public void goOffline(@PathVariable Long userId) {
+        presenceService.goOffline(userId);
+    }
+
+    // 3. BULK CHECK: /api/presence?ids=1,2,3 -> the ids that are online
+    @GetMapping
+    public List<Long> whoIsOnline(@RequestParam List<Long> ids) {
+        return presenceService.onlineAmong(ids);
+    }
+}
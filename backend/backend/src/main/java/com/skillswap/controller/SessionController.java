@@ -1,18 +1,15 @@
 package com.skillswap.controller;
 
 import com.skillswap.model.Session;
-import com.skillswap.model.User;
 import com.skillswap.repository.SessionRepository;
-import com.skillswap.repository.UserRepository;
-import com.skillswap.repository.ConnectionRepository;
-import com.skillswap.service.EmailService;
+import com.skillswap.service.ReadYourWritesService;
+import com.skillswap.service.SessionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/sessions")
@@ -23,63 +20,41 @@ public class SessionController {
     private SessionRepository sessionRepo;
 
     @Autowired
-    private UserRepository userRepo;
+    private SessionService sessionService;
 
     @Autowired
-    private ConnectionRepository connectionRepo;
-
-    @Autowired
-    private EmailService emailService;
+    private ReadYourWritesService readYourWrites;
 
     // 1. Schedule a Session
+    // Optional "Idempotency-Key" header: retries with the same key return the same session
     @PostMapping("/schedule")
-    public Session scheduleSession(
+    public ResponseEntity<?> scheduleSession(
             @RequestParam Long mentorId,
             @RequestParam Long menteeId,
-            @RequestParam String startTime
+            @RequestParam String startTime,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
+        // Longer keys don't fit the column - the client's mistake, not a server error
+        if (idempotencyKey != null && idempotencyKey.length() > SessionService.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body("Error: Idempotency-Key must be at most " + SessionService.MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
         // 🛠️ FIX: React sends "2023-10-25T14:30", Java wants "2023-10-25T14:30:00"
         if (startTime.length() == 16) {
             startTime = startTime + ":00";
         }
 
-        User mentor = userRepo.findById(mentorId)
-                .orElseThrow(() -> new RuntimeException("Mentor not found"));
-        User mentee = userRepo.findById(menteeId)
-                .orElseThrow(() -> new RuntimeException("Mentee not found"));
-
-        // 🔒 SECURITY: Must be connected to book!
-        if (!connectionRepo.existsByRequesterAndReceiver(mentor, mentee)) {
-            throw new RuntimeException("ACCESS DENIED: You must connect with this mentor first!");
-        }
-
-        Session session = new Session();
-        session.setMentor(mentor);
-        session.setMentee(mentee);
-        session.setStartTime(LocalDateTime.parse(startTime)); // Now safe to parse
-        session.setDurationMinutes(60);
-        session.setStatus("CONFIRMED");
-        // Auto-generate a video link
-        session.setMeetingLink("https://meet.jit.si/SkillSwap-" + UUID.randomUUID());
-        session.setCreatedAt(LocalDateTime.now());
-        Session savedSession = sessionRepo.save(session);
-
-        // 📧 SEND CONFIRMATION EMAILS
-        if(mentee.getEmail() != null) {
-            emailService.sendSessionConfirmation(mentee.getEmail(), mentor.getName(), startTime, savedSession.getMeetingLink());
-        }
-        if(mentor.getEmail() != null) {
-            emailService.sendSessionConfirmation(mentor.getEmail(), mentee.getName(), startTime, savedSession.getMeetingLink());
-        }
-        return sessionRepo.save(session);
+        SessionService.Booking booking = sessionService.scheduleSession(
+                mentorId, menteeId, LocalDateTime.parse(startTime), idempotencyKey);
+        readYourWrites.recordWrite(mentorId, menteeId);
+        return ResponseEntity.ok(booking);
     }
 
     // 2. Get My Sessions (Upcoming)
     @GetMapping("/user/{userId}")
     public List<Session> getMySessions(@PathVariable Long userId) {
-        User user = userRepo.findById(userId).orElseThrow();
-        // Return sessions where I am EITHER the mentor OR the mentee
-        return sessionRepo.findByMentorOrMentee(user, user);
+        return readYourWrites.read(() -> sessionService.getMySessions(userId), userId);
     }
 
     @DeleteMapping("/{id}")
@@ -88,4 +63,4 @@ public class SessionController {
     }
 
 
-}
\ No newline at end of file
+}
@@ -21,14 +21,13 @@ public class UserController {
     // 1. GET ALL USERS (For the Dashboard)
     @GetMapping
     public List<User> getAllUsers() {
-        return userRepository.findAll();
+        return userService.getAllUsers();
     }
 
     // 2. SEARCH (For the Search Bar)
     @GetMapping("/search")
     public List<User> searchUsers(@RequestParam String skill) {
-        // Ensure your Repository has this method defined!
-        return userRepository.findBySkills_SkillNameContainingIgnoreCase(skill);
+        return userService.searchUsers(skill);
     }
 
     // 3. UPDATE USER (For Profile Edit)
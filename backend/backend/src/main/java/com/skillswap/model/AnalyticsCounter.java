@@ -0,0 +1,29 @@
+package com.skillswap.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+// One row per (day, metric, dimension): a pre-aggregated count, bumped by AnalyticsService as events happen.
+// dimensionId = 0 for platform-wide metrics, the skill id for SESSIONS_BY_SKILL.
+@Entity
+@Table(name = "analytics_daily_counters", uniqueConstraints =
+        @UniqueConstraint(name = "uk_analytics_bucket", columnNames = {"metric", "bucket_day", "dimension_id"}))
+@Data
+public class AnalyticsCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate bucketDay;
+
+    @Column(nullable = false, length = 40)
+    private String metric;
+
+    @Column(name = "dimension_id", nullable = false)
+    private long dimensionId;
+
+    @Column(nullable = false)
+    private long total;
+}
@@ -1,12 +1,15 @@
 package com.skillswap.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "connections")
+// One connection per pair of users, whoever sent it (A->B and B->A are the same pair)
+@Table(name = "connections", uniqueConstraints =
+        @UniqueConstraint(name = "uk_connections_pair", columnNames = {"user_low_id", "user_high_id"}))
 public class Connection {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,4 +28,21 @@ public class Connection {
     private String message; // 👈 Renamed from 'requestMessage' to match React!
 
     private LocalDateTime createdAt = LocalDateTime.now();
-}
\ No newline at end of file
+
+    // Normalized pair: smaller user id first. Backs the unique constraint above.
+    @JsonIgnore
+    @Column(name = "user_low_id")
+    private Long userLowId;
+
+    @JsonIgnore
+    @Column(name = "user_high_id")
+    private Long userHighId;
+
+    @PrePersist
+    protected void onCreate() {
+        Long a = requester.getId();
+        Long b = receiver.getId();
+        this.userLowId = Math.min(a, b);
+        this.userHighId = Math.max(a, b);
+    }
+}
@@ -0,0 +1,16 @@
+package com.skillswap.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// All-time per-mentor totals behind the mentor leaderboard
+@Entity
+@Table(name = "mentor_stats")
+@Data
+public class MentorStats {
+    @Id
+    private Long mentorId;
+
+    @Column(nullable = false)
+    private long completedSessions;
+}
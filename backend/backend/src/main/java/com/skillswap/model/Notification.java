@@ -0,0 +1,35 @@
+package com.skillswap.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// In-app notification. Kept flat (ids + the actor's name) so a feed page never joins users.
+@Entity
+@Table(name = "notifications", indexes =
+        @Index(name = "idx_notifications_recipient", columnList = "recipient_id, id"))
+@Data
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    // "CONNECTION_REQUEST", "CONNECTION_ACCEPTED", "CONNECTION_REJECTED", "SESSION_SCHEDULED", "SESSION_REMINDER"
+    @Column(nullable = false, length = 32)
+    private String type;
+
+    private Long actorId;
+    private String actorName;
+
+    // Id of the connection / session the notification is about
+    private Long refId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "is_read", nullable = false) // "read" is reserved in MySQL
+    private boolean read = false;
+}
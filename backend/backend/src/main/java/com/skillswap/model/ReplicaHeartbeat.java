@@ -0,0 +1,16 @@
+package com.skillswap.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Single row (id = 1) the primary stamps and the replicas read back - see ReplicaLagMonitor
+@Entity
+@Table(name = "replica_heartbeat")
+@Data
+public class ReplicaHeartbeat {
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long beatAt;
+}
@@ -1,11 +1,14 @@
 package com.skillswap.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sessions")
+// A retried booking is recognised by (mentee, Idempotency-Key) - keys from different users never collide
+@Table(name = "sessions", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sessions_mentee_idempotency_key", columnNames = {"mentee_id", "idempotency_key"}))
 @Data
 public class Session {
     @Id
@@ -31,4 +34,9 @@ public class Session {
 
     @Column(nullable = false)
     private boolean reminderSent = false;
+
+    // Client-supplied "Idempotency-Key" header: a retried booking returns the first one
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
 }
\ No newline at end of file
@@ -31,4 +31,13 @@ public class User {
     @ManyToMany(fetch = FetchType.EAGER) // Load skills automatically
     @JoinTable(name = "user_skills", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "skill_id"))
     private List<Skills> skills;
+
+    // Id-only stand-in for a user we know exists: enough for a foreign key, no SELECT needed
+    public static User ref(Long id, String name, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
 }
\ No newline at end of file
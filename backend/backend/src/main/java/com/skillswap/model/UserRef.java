@@ -0,0 +1,10 @@
+package com.skillswap.model;
+
+// How the booking/request write endpoints show a user: just what they read, no role/skills join.
+// Same shape whether the row was just inserted or an earlier one came back (idempotent retry).
+public record UserRef(Long id, String name, String email) {
+
+    public static UserRef of(User user) {
+        return new UserRef(user.getId(), user.getName(), user.getEmail());
+    }
+}
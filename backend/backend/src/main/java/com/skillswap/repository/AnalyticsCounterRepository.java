@@ -0,0 +1,35 @@
+package com.skillswap.repository;
+
+import com.skillswap.model.AnalyticsCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsCounterRepository extends JpaRepository<AnalyticsCounter, Long> {
+
+    // Add a delta to an existing bucket. 0 rows = bucket doesn't exist yet (caller inserts it)
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalyticsCounter c SET c.total = c.total + :delta " +
+            "WHERE c.metric = :metric AND c.bucketDay = :day AND c.dimensionId = :dimensionId")
+    int increment(@Param("metric") String metric, @Param("day") LocalDate day,
+                  @Param("dimensionId") long dimensionId, @Param("delta") long delta);
+
+    // Time series for one platform-wide metric
+    List<AnalyticsCounter> findByMetricAndDimensionIdAndBucketDayBetweenOrderByBucketDay(
+            String metric, long dimensionId, LocalDate from, LocalDate to);
+
+    // Sum of a metric over a date range, per dimension (e.g. sessions per skill)
+    @Query("SELECT c.dimensionId AS dimensionId, SUM(c.total) AS total FROM AnalyticsCounter c " +
+            "WHERE c.metric = :metric AND c.bucketDay BETWEEN :from AND :to " +
+            "GROUP BY c.dimensionId ORDER BY SUM(c.total) DESC")
+    List<DimensionTotal> sumByDimension(@Param("metric") String metric,
+                                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ConnectionRepository extends JpaRepository<Connection, Long> {
@@ -31,4 +32,12 @@ public interface ConnectionRepository extends JpaRepository<Connection, Long> {
     // This replaces the confusing findByRequesterOrReceiver(user, user)
     @Query("SELECT c FROM Connection c WHERE c.requester = :user OR c.receiver = :user")
     List<Connection> findAllConnections(@Param("user") User user);
+
+    // 5. Look up the (single) connection for a normalized pair - see Connection.userLowId
+    Optional<Connection> findByUserLowIdAndUserHighId(Long userLowId, Long userHighId);
+
+    // 6. Just the ids of the people I'm connected with (any status) - no entities loaded
+    @Query("SELECT CASE WHEN c.requester.id = :userId THEN c.receiver.id ELSE c.requester.id END " +
+            "FROM Connection c WHERE c.requester.id = :userId OR c.receiver.id = :userId")
+    List<Long> findPartnerIds(@Param("userId") Long userId);
 }
\ No newline at end of file
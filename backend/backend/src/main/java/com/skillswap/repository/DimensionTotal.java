@@ -0,0 +1,7 @@
+package com.skillswap.repository;
+
+// (dimension, summed total) row from the analytics rollups
+public interface DimensionTotal {
+    Long getDimensionId();
+    Long getTotal();
+}
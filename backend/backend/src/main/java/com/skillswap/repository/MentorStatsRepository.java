@@ -0,0 +1,24 @@
+package com.skillswap.repository;
+
+import com.skillswap.model.MentorStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface MentorStatsRepository extends JpaRepository<MentorStats, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MentorStats m SET m.completedSessions = m.completedSessions + :delta WHERE m.mentorId = :mentorId")
+    int incrementCompleted(@Param("mentorId") Long mentorId, @Param("delta") long delta);
+
+    // Seeds the in-memory leaderboard
+    List<MentorStats> findAllByOrderByCompletedSessionsDesc(Pageable page);
+}
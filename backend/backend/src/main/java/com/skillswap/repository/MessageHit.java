@@ -0,0 +1,14 @@
+package com.skillswap.repository;
+
+import java.time.LocalDateTime;
+
+// A search result row: the message plus who it was between
+public interface MessageHit {
+    Long getId();
+    String getText();
+    LocalDateTime getTimestamp();
+    Long getSenderId();
+    String getSenderName();
+    Long getReceiverId();
+    String getReceiverName();
+}
@@ -2,11 +2,13 @@ package com.skillswap.repository;
 
 import com.skillswap.model.Message;
 import com.skillswap.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +20,17 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
             "(m.sender = :user2 AND m.receiver = :user1) " +
             "ORDER BY m.timestamp ASC")
     List<Message> findConversation(@Param("user1") User user1, @Param("user2") User user2);
-}
\ No newline at end of file
+
+    // Feeds the search index: keyset pages by id, each page its own short read
+    @Query("SELECT m.id AS id, m.sender.id AS senderId, m.receiver.id AS receiverId, m.text AS text, " +
+            "m.timestamp AS timestamp " +
+            "FROM Message m WHERE m.id > :afterId ORDER BY m.id ASC")
+    List<MessageText> findTextAfter(@Param("afterId") Long afterId, Pageable page);
+
+    // Search hits by id (the index already scoped them to one user)
+    @Query("SELECT m.id AS id, m.text AS text, m.timestamp AS timestamp, " +
+            "m.sender.id AS senderId, m.sender.name AS senderName, " +
+            "m.receiver.id AS receiverId, m.receiver.name AS receiverName " +
+            "FROM Message m WHERE m.id IN :ids")
+    List<MessageHit> findHitsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,13 @@
+package com.skillswap.repository;
+
+
+import java.time.LocalDateTime;
+
+// A Message without the User graph (search index, data export)
+public interface MessageText {
+    Long getId();
+    Long getSenderId();
+    Long getReceiverId();
+    String getText();
+    LocalDateTime getTimestamp();
+}
@@ -0,0 +1,7 @@
+package com.skillswap.repository;
+
+// Fingerprint of a user's feed in the table: newest id + unread count (nulls when there are no rows)
+public interface NotificationFeedState {
+    Long getNewestId();
+    Long getUnread();
+}
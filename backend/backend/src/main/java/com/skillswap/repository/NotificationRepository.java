@@ -0,0 +1,40 @@
+package com.skillswap.repository;
+
+import com.skillswap.model.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // Newest first. Cursor = id of the last notification the client has seen (keyset, no OFFSET)
+    List<Notification> findByRecipientIdOrderByIdDesc(Long recipientId, Pageable page);
+
+    List<Notification> findByRecipientIdAndIdLessThanOrderByIdDesc(Long recipientId, Long before, Pageable page);
+
+    long countByRecipientIdAndReadFalse(Long recipientId);
+
+    // One aggregate instead of a full reload: has anything changed since the feed was loaded?
+    @Query("SELECT MAX(n.id) AS newestId, SUM(CASE WHEN n.read = false THEN 1 ELSE 0 END) AS unread " +
+            "FROM Notification n WHERE n.recipientId = :recipientId")
+    NotificationFeedState findFeedState(@Param("recipientId") Long recipientId);
+
+    // Batch mark-as-read: one UPDATE for the whole selection
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipientId = :recipientId AND n.id IN :ids AND n.read = false")
+    int markRead(@Param("recipientId") Long recipientId, @Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipientId = :recipientId AND n.read = false")
+    int markAllRead(@Param("recipientId") Long recipientId);
+}
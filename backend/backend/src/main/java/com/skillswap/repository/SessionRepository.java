@@ -3,13 +3,33 @@ package com.skillswap.repository;
 import com.skillswap.model.Session;
 import com.skillswap.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, Long> {
 
     // Finds all sessions where the user is EITHER the mentor OR the mentee
     List<Session> findByMentorOrMentee(User mentor, User mentee);
-}
\ No newline at end of file
+
+    // Retried booking (same mentee + Idempotency-Key) -> the session created the first time
+    Optional<Session> findByMentee_IdAndIdempotencyKey(Long menteeId, String idempotencyKey);
+
+    // Sessions that have started but aren't marked COMPLETED yet
+    @Query("SELECT s.id AS id, s.mentor.id AS mentorId, s.startTime AS startTime, s.durationMinutes AS durationMinutes " +
+            "FROM Session s WHERE s.status = 'CONFIRMED' AND s.startTime < :now")
+    List<SessionTiming> findStartedConfirmed(@Param("now") LocalDateTime now);
+
+    // 1 = this call completed it (0 = cancelled or already completed elsewhere)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Session s SET s.status = 'COMPLETED' WHERE s.id = :id AND s.status = 'CONFIRMED'")
+    int markCompleted(@Param("id") Long id);
+}
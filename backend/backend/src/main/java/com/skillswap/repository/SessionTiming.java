@@ -0,0 +1,11 @@
+package com.skillswap.repository;
+
+import java.time.LocalDateTime;
+
+// Just enough of a Session to decide whether it's over
+public interface SessionTiming {
+    Long getId();
+    Long getMentorId();
+    LocalDateTime getStartTime();
+    int getDurationMinutes();
+}
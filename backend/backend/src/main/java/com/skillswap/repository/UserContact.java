@@ -0,0 +1,8 @@
+package com.skillswap.repository;
+
+// Just what the write paths need for emails/responses - no password, no skills join
+public interface UserContact {
+    Long getId();
+    String getName();
+    String getEmail();
+}
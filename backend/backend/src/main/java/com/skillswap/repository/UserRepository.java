@@ -1,10 +1,15 @@
 package com.skillswap.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.skillswap.model.User;
 
 @Repository
@@ -12,4 +17,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     List<User> findBySkills_SkillNameContainingIgnoreCase(String skillName);
+
+    // Light lookup (id, name, email) for the write paths
+    List<UserContact> findByIdIn(Collection<Long> ids);
+
+    // Both users' contacts in ONE query - but only if the two are connected (any status).
+    // Fewer than 2 rows back = missing user or no connection.
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email FROM User u " +
+            "WHERE u.id IN (:user1, :user2) AND EXISTS (SELECT c.id FROM Connection c WHERE " +
+            "(c.requester.id = :user1 AND c.receiver.id = :user2) OR " +
+            "(c.requester.id = :user2 AND c.receiver.id = :user1))")
+    List<UserContact> findContactsIfConnected(@Param("user1") Long user1, @Param("user2") Long user2);
+
+    // (userId, skillId) pairs for a batch of users - used to attribute sessions to the mentor's skills
+    @Query("SELECT u.id AS userId, s.id AS skillId FROM User u JOIN u.skills s WHERE u.id IN :ids")
+    List<UserSkillId> findSkillIds(@Param("ids") Collection<Long> ids);
+
+    // Single UPDATE, no load-then-save
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.avatarUrl = :avatarUrl WHERE u.id = :id")
+    int updateAvatarUrl(@Param("id") Long id, @Param("avatarUrl") String avatarUrl);
 }
@@ -0,0 +1,6 @@
+package com.skillswap.repository;
+
+public interface UserSkillId {
+    Long getUserId();
+    Long getSkillId();
+}
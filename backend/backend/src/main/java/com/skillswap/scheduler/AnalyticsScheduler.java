@@ -0,0 +1,19 @@
+package com.skillswap.scheduler;
+
+import com.skillswap.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AnalyticsScheduler {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    // Push the in-memory counters into the rollup tables
+    @Scheduled(initialDelay = 10000, fixedDelayString = "${skillswap.analytics.flush-interval-ms:10000}")
+    public void flushCounters() {
+        analyticsService.flush();
+    }
+}
@@ -0,0 +1,19 @@
+package com.skillswap.scheduler;
+
+import com.skillswap.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PresenceScheduler {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    // Advance the presence timing wheel once a second
+    @Scheduled(fixedRate = 1000)
+    public void expireStalePresence() {
+        presenceService.expireDue();
+    }
+}
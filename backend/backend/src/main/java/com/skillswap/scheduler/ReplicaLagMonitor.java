@@ -0,0 +1,68 @@
+package com.skillswap.scheduler;
+
+import com.skillswap.config.ReplicaRoutingDataSource;
+import com.skillswap.service.ReadYourWritesService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Measures replica lag with a heartbeat row: write "now" on the primary, read it back from each replica.
+// lag = now - (heartbeat the replica has seen). Replicas that error out are marked down until the next check.
+// The replica_heartbeat table comes from the schema (V5 migration / ReplicaHeartbeat entity).
+// With max-lag=0 nothing is probed: replicas are always used, and may not even share the table (two local H2s).
+@Component
+@ConditionalOnProperty(name = "skillswap.datasource.routing.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private ReadYourWritesService readYourWrites;
+
+    private JdbcTemplate primary;
+
+    @PostConstruct
+    void init() {
+        primary = new JdbcTemplate(routing.getPrimary());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${skillswap.datasource.routing.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        readYourWrites.pruneExpired();
+        if (!routing.isLagChecked()) return;
+
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                try {
+                    primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+                } catch (DuplicateKeyException raced) {
+                    // Another tick/instance created the row first (only without the V5 seed, e.g. ddl-auto)
+                    primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("❌ HEARTBEAT FAILED on primary: " + e.getMessage());
+            return;
+        }
+
+        for (Map.Entry<String, DataSource> replica : routing.getReplicas().entrySet()) {
+            try {
+                Long seen = new JdbcTemplate(replica.getValue())
+                        .queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+                routing.updateLag(replica.getKey(), Math.max(0, System.currentTimeMillis() - seen));
+            } catch (Exception e) {
+                routing.markDown(replica.getKey());
+                System.err.println("⚠️ Replica " + replica.getKey() + " unavailable: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.skillswap.scheduler;
+
+import com.skillswap.service.MessageSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SearchIndexScheduler {
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Value("${skillswap.search.max-segments:8}")
+    private int maxSegments;
+
+    // First run = startup catch-up, then picks up messages sent through other instances
+    @Scheduled(initialDelay = 1000, fixedDelayString = "${skillswap.search.sync-interval-ms:15000}")
+    public void syncFromDatabase() {
+        messageSearchService.sync();
+    }
+
+    // New postings go to disk as a segment file; segment files are merged once there are too many
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${skillswap.search.flush-interval-ms:30000}")
+    public void flushIndex() {
+        messageSearchService.flushAndMerge(maxSegments);
+    }
+}
@@ -2,8 +2,12 @@ package com.skillswap.scheduler;
 
 import com.skillswap.model.Session;
 import com.skillswap.repository.SessionRepository;
+import com.skillswap.repository.SessionTiming;
+import com.skillswap.service.AnalyticsService;
 import com.skillswap.service.EmailService;
+import com.skillswap.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
@@ -15,9 +19,16 @@ public class SessionScheduler {
     @Autowired
     private SessionRepository sessionRepo;
 
+    @Lazy
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
     // Runs every 60 seconds
     @Scheduled(initialDelay = 120000,fixedRate = 60000)
     public void checkUpcomingSessions() {
@@ -45,10 +56,29 @@ public class SessionScheduler {
                     session.getMeetingLink()
             );
 
+            notificationService.publish(session.getMentor().getId(), "SESSION_REMINDER",
+                    session.getMentee().getId(), session.getMentee().getName(), session.getId());
+            notificationService.publish(session.getMentee().getId(), "SESSION_REMINDER",
+                    session.getMentor().getId(), session.getMentor().getName(), session.getId());
+
             // Mark as sent so we don't send again
             session.setReminderSent(true);
             sessionRepo.save(session);
             System.out.println("⏰ Reminder sent for Session ID: " + session.getId());
         }
     }
-}
\ No newline at end of file
+
+    // Marks sessions COMPLETED once their time is up (feeds the mentor leaderboard).
+    // Counted on the day the session ended, so the first run's catch-up on old sessions lands on their real days.
+    @Scheduled(initialDelay = 120000, fixedRate = 60000)
+    public void completeFinishedSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        for (SessionTiming session : sessionRepo.findStartedConfirmed(now)) {
+            LocalDateTime end = session.getStartTime().plusMinutes(session.getDurationMinutes());
+            if (end.isAfter(now)) continue;
+            if (sessionRepo.markCompleted(session.getId()) == 1) {
+                analyticsService.recordSessionCompleted(session.getMentorId(), end.toLocalDate());
+            }
+        }
+    }
+}
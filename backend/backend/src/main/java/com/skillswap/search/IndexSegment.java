@@ -0,0 +1,229 @@
+package com.skillswap.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+// Immutable on-disk segment of the message index.
+//
+// File layout:
+//   [posting lists]  per (userId, term): message ids ascending, delta + varint encoded
+//   [dictionary]     int entries, then per entry: long userId, UTF term, long offset, int byteLength, int count
+//   [footer]         long dictionaryOffset, int MAGIC
+//
+// The dictionary is loaded into memory on open; posting lists are read on demand with positional reads.
+final class IndexSegment implements Closeable {
+
+    private static final int MAGIC = 0x534B5331; // "SKS1"
+
+    record Posting(long offset, int byteLength, int count) {}
+
+    final String name;
+    private final FileChannel channel;
+    private final Map<Long, Map<String, Posting>> dictionary;
+
+    private IndexSegment(String name, FileChannel channel, Map<Long, Map<String, Posting>> dictionary) {
+        this.name = name;
+        this.channel = channel;
+        this.dictionary = dictionary;
+    }
+
+    Map<Long, Map<String, Posting>> dictionary() {
+        return dictionary;
+    }
+
+    long[] postings(long userId, String term) throws IOException {
+        Map<String, Posting> terms = dictionary.get(userId);
+        Posting posting = terms == null ? null : terms.get(term);
+        return posting == null ? new long[0] : read(posting);
+    }
+
+    long[] read(Posting posting) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(posting.byteLength());
+        long position = posting.offset();
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, position + buf.position());
+            if (n < 0) throw new IOException("Truncated segment " + name);
+        }
+        buf.flip();
+        long[] ids = new long[posting.count()];
+        long previous = 0;
+        for (int i = 0; i < ids.length; i++) {
+            previous += readVarLong(buf);
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ---------- writing ----------
+
+    // postings: userId -> term -> sorted, distinct message ids
+    static void write(Path file, SortedMap<Long, SortedMap<String, long[]>> postings) throws IOException {
+        try (Writer writer = new Writer(file)) {
+            for (Map.Entry<Long, SortedMap<String, long[]>> user : postings.entrySet()) {
+                for (Map.Entry<String, long[]> term : user.getValue().entrySet()) {
+                    writer.add(user.getKey(), term.getKey(), term.getValue());
+                }
+            }
+            writer.commit();
+        }
+    }
+
+    // Writes one posting list at a time, so a merge never holds more than the list it is on.
+    // The dictionary is spooled to a side file and appended on commit(); everything goes to temp files
+    // that are only moved into place by commit() (close() without commit() throws them away).
+    static final class Writer implements Closeable {
+        private final Path file;
+        private final Path temp;
+        private final Path dictTemp;
+        private final CountingOutputStream counting;
+        private final DataOutputStream out;
+        private final DataOutputStream dictOut;
+        private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        private int entries;
+        private boolean committed;
+
+        Writer(Path file) throws IOException {
+            this.file = file;
+            this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+            this.dictTemp = file.resolveSibling(file.getFileName() + ".dict.tmp");
+            this.counting = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+            this.out = new DataOutputStream(counting);
+            this.dictOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dictTemp), 1 << 16));
+        }
+
+        // Must be called in (userId, term) order
+        void add(long userId, String term, long[] ids) throws IOException {
+            if (ids.length == 0) return;
+            encoded.reset();
+            long previous = 0;
+            for (long id : ids) {
+                writeVarLong(encoded, id - previous);
+                previous = id;
+            }
+            long offset = counting.count;
+            encoded.writeTo(out);
+
+            dictOut.writeLong(userId);
+            dictOut.writeUTF(term);
+            dictOut.writeLong(offset);
+            dictOut.writeInt(encoded.size());
+            dictOut.writeInt(ids.length);
+            entries++;
+        }
+
+        void commit() throws IOException {
+            dictOut.close();
+            out.flush();
+            long dictionaryOffset = counting.count;
+            out.writeInt(entries);
+            Files.copy(dictTemp, out);
+            out.writeLong(dictionaryOffset);
+            out.writeInt(MAGIC);
+            out.close();
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                dictOut.close();
+                out.close();
+            } finally {
+                Files.deleteIfExists(dictTemp);
+                if (!committed) Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    static IndexSegment open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer footer = ByteBuffer.allocate(12);
+            channel.read(footer, size - 12);
+            footer.flip();
+            long dictionaryOffset = footer.getLong();
+            if (footer.getInt() != MAGIC) throw new IOException("Not an index segment: " + file);
+
+            Map<Long, Map<String, Posting>> dictionary = new HashMap<>();
+            InputStream raw = Channels.newInputStream(channel.position(dictionaryOffset));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16));
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                long userId = in.readLong();
+                String term = in.readUTF();
+                Posting posting = new Posting(in.readLong(), in.readInt(), in.readInt());
+                dictionary.computeIfAbsent(userId, id -> new HashMap<>()).put(term, posting);
+            }
+            return new IndexSegment(file.getFileName().toString(), channel, dictionary);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ---------- varints ----------
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buf) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static final class CountingOutputStream extends java.io.FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
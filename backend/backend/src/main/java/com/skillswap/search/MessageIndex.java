@@ -0,0 +1,369 @@
+package com.skillswap.search;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 🔎 Inverted index over message text, partitioned by user: (userId, term) -> ascending message ids.
+// Every message is indexed under both the sender and the receiver, so a search only ever sees that user's messages.
+//
+// New messages go into an in-memory segment; flush() writes it out as an immutable segment file,
+// merge() folds the segment files back into one. The manifest records the live segments and the
+// highest message id they cover (the watermark) - anything above it is re-indexed from the DB on startup.
+public class MessageIndex implements AutoCloseable {
+
+    public static final int MIN_TERM = 2;
+    public static final int MAX_TERM = 40;
+
+    private static final String MANIFEST = "manifest.properties";
+
+    private final Path dir;
+
+    // In-memory segment taking new messages, and the one being written to disk (still searchable meanwhile)
+    private volatile Active active = new Active();
+    private volatile Active flushing;
+    private volatile List<IndexSegment> segments = List.of();
+
+    // add() holds the read side so flush() never snapshots a segment someone is still writing into
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    // Merged-away segments: closed one cycle later so searches still reading them can finish
+    private List<IndexSegment> retired = List.of();
+
+    private long watermark;
+    private long nextSegment = 1;
+
+    public MessageIndex(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        load();
+    }
+
+    // ---------- writes ----------
+
+    public void add(long messageId, long senderId, long receiverId, String text) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(text));
+        if (terms.isEmpty() || active.contains(messageId)) return;
+        swapLock.readLock().lock();
+        try {
+            active.add(senderId, terms, messageId);
+            if (receiverId != senderId) active.add(receiverId, terms, messageId);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Highest message id already on disk; the DB catch-up starts after it
+    public synchronized long watermark() {
+        return watermark;
+    }
+
+    // Messages indexed in memory only, not yet flushed
+    public int pendingMessages() {
+        return active.messageCount();
+    }
+
+    // Writes the in-memory segment to a new segment file. Returns false if there was nothing to write.
+    // coveredUpTo: every message id up to here has been add()ed already - becomes the new watermark.
+    public synchronized boolean flush(long coveredUpTo) throws IOException {
+        Active full = active;
+        if (full.isEmpty()) {
+            // Nothing new, but the DB sync may have moved on (all duplicates) - remember that
+            if (coveredUpTo > watermark) {
+                writeManifest(segments, coveredUpTo);
+                watermark = coveredUpTo;
+            }
+            return false;
+        }
+        swapLock.writeLock().lock();
+        try {
+            flushing = full;
+            active = new Active();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        try {
+            String name = segmentName();
+            IndexSegment.write(dir.resolve(name), full.snapshot());
+            IndexSegment segment = IndexSegment.open(dir.resolve(name));
+
+            List<IndexSegment> next = new ArrayList<>(segments);
+            next.add(segment);
+            long nextWatermark = Math.max(watermark, coveredUpTo);
+            writeManifest(next, nextWatermark);
+            segments = List.copyOf(next);
+            watermark = nextWatermark;
+        } catch (IOException | RuntimeException e) {
+            // Put the postings back so they go out with the next flush
+            active.addAll(full);
+            throw e;
+        } finally {
+            flushing = null;
+        }
+        return true;
+    }
+
+    // Folds every segment file into one once there are more than maxSegments
+    public synchronized boolean merge(int maxSegments) throws IOException {
+        List<IndexSegment> current = segments;
+        if (current.size() <= Math.max(1, maxSegments)) return false;
+
+        // Sorted union of the keys (dictionaries are in memory anyway), then one posting list at a time:
+        // each merged list is written out as soon as it is built
+        SortedMap<Long, SortedSet<String>> keys = new TreeMap<>();
+        for (IndexSegment segment : current) {
+            for (Map.Entry<Long, Map<String, IndexSegment.Posting>> user : segment.dictionary().entrySet()) {
+                keys.computeIfAbsent(user.getKey(), id -> new TreeSet<>()).addAll(user.getValue().keySet());
+            }
+        }
+
+        String name = segmentName();
+        try (IndexSegment.Writer writer = new IndexSegment.Writer(dir.resolve(name))) {
+            for (Map.Entry<Long, SortedSet<String>> user : keys.entrySet()) {
+                for (String term : user.getValue()) {
+                    long[] ids = new long[0];
+                    for (IndexSegment segment : current) {
+                        ids = union(ids, segment.postings(user.getKey(), term));
+                    }
+                    writer.add(user.getKey(), term, ids);
+                }
+            }
+            writer.commit();
+        }
+        IndexSegment segment = IndexSegment.open(dir.resolve(name));
+
+        writeManifest(List.of(segment), watermark);
+        segments = List.of(segment);
+
+        closeQuietly(retired);
+        retired = current;
+        for (IndexSegment old : current) Files.deleteIfExists(dir.resolve(old.name));
+        return true;
+    }
+
+    // ---------- reads ----------
+
+    // Ids of this user's messages containing ALL the query terms, newest first, below `before` (null = from the top)
+    public List<Long> search(long userId, String query, Long before, int limit) throws IOException {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        List<long[]> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            long[] ids = postings(userId, term);
+            if (ids.length == 0) return List.of();
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+        long[] hits = lists.get(0);
+        for (int i = 1; i < lists.size() && hits.length > 0; i++) hits = intersect(hits, lists.get(i));
+
+        List<Long> page = new ArrayList<>(Math.min(limit, hits.length));
+        for (int i = hits.length - 1; i >= 0 && page.size() < limit; i--) {
+            if (before == null || hits[i] < before) page.add(hits[i]);
+        }
+        return page;
+    }
+
+    private long[] postings(long userId, String term) throws IOException {
+        long[] ids = active.postings(userId, term);
+        Active beingFlushed = flushing;
+        if (beingFlushed != null) ids = union(ids, beingFlushed.postings(userId, term));
+        for (IndexSegment segment : segments) ids = union(ids, segment.postings(userId, term));
+        return ids;
+    }
+
+    // Lowercased runs of letters/digits, MIN_TERM..MAX_TERM chars (longer ones are cut)
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); ) {
+            int cp = lower.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                if (current.length() < MAX_TERM) current.appendCodePoint(cp);
+            } else {
+                addTerm(terms, current);
+            }
+        }
+        addTerm(terms, current);
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder current) {
+        if (current.length() >= MIN_TERM) terms.add(current.toString());
+        current.setLength(0);
+    }
+
+    // ---------- sorted long[] helpers ----------
+
+    static long[] union(long[] a, long[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) next = a[i++];
+            else if (i == a.length || b[j] < a[i]) next = b[j++];
+            else { next = a[i++]; j++; }
+            out[n++] = next;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (b[j] < a[i]) j++;
+            else { out[n++] = a[i]; i++; j++; }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // ---------- manifest ----------
+
+    private void load() throws IOException {
+        Path manifest = dir.resolve(MANIFEST);
+        if (!Files.exists(manifest)) return;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(manifest)) {
+            props.load(in);
+        }
+        watermark = Long.parseLong(props.getProperty("watermark", "0"));
+        nextSegment = Long.parseLong(props.getProperty("nextSegment", "1"));
+        List<IndexSegment> loaded = new ArrayList<>();
+        for (String name : props.getProperty("segments", "").split(",")) {
+            if (!name.isBlank()) loaded.add(IndexSegment.open(dir.resolve(name.trim())));
+        }
+        segments = List.copyOf(loaded);
+    }
+
+    private void writeManifest(List<IndexSegment> live, long newWatermark) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("watermark", Long.toString(newWatermark));
+        props.setProperty("nextSegment", Long.toString(nextSegment));
+        props.setProperty("segments", String.join(",", live.stream().map(s -> s.name).toList()));
+        Path temp = dir.resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            props.store(out, "message search index");
+        }
+        Files.move(temp, dir.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private String segmentName() {
+        return String.format("seg-%08d.idx", nextSegment++);
+    }
+
+    @Override
+    public synchronized void close() {
+        closeQuietly(retired);
+        closeQuietly(segments);
+        retired = List.of();
+        segments = List.of();
+    }
+
+    private static void closeQuietly(Collection<IndexSegment> toClose) {
+        for (IndexSegment segment : toClose) {
+            try {
+                segment.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // ---------- in-memory segment ----------
+
+    private static final class Active {
+        private final ConcurrentHashMap<Long, ConcurrentHashMap<String, LongList>> postings = new ConcurrentHashMap<>();
+        private final Set<Long> messageIds = ConcurrentHashMap.newKeySet();
+
+        void add(long userId, Collection<String> terms, long messageId) {
+            ConcurrentHashMap<String, LongList> userTerms = postings.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+            for (String term : terms) userTerms.computeIfAbsent(term, t -> new LongList()).add(messageId);
+            messageIds.add(messageId);
+        }
+
+        void addAll(Active other) {
+            other.postings.forEach((userId, terms) -> terms.forEach((term, ids) -> {
+                for (long id : ids.sortedDistinct()) add(userId, List.of(term), id);
+            }));
+        }
+
+        long[] postings(long userId, String term) {
+            Map<String, LongList> userTerms = postings.get(userId);
+            LongList ids = userTerms == null ? null : userTerms.get(term);
+            return ids == null ? new long[0] : ids.sortedDistinct();
+        }
+
+        SortedMap<Long, SortedMap<String, long[]>> snapshot() {
+            SortedMap<Long, SortedMap<String, long[]>> sorted = new TreeMap<>();
+            postings.forEach((userId, terms) -> {
+                SortedMap<String, long[]> userTerms = new TreeMap<>();
+                terms.forEach((term, ids) -> userTerms.put(term, ids.sortedDistinct()));
+                sorted.put(userId, userTerms);
+            });
+            return sorted;
+        }
+
+        boolean contains(long messageId) {
+            return messageIds.contains(messageId);
+        }
+
+        boolean isEmpty() {
+            return postings.isEmpty();
+        }
+
+        int messageCount() {
+            return messageIds.size();
+        }
+    }
+
+    // Append-only ids; sorted lazily because messages can commit out of id order
+    private static final class LongList {
+        private long[] ids = new long[4];
+        private int size;
+        private boolean sorted = true;
+
+        synchronized void add(long id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            if (size > 0 && ids[size - 1] >= id) sorted = false;
+            ids[size++] = id;
+        }
+
+        synchronized long[] sortedDistinct() {
+            if (!sorted) {
+                Arrays.sort(ids, 0, size);
+                int n = 0;
+                for (int i = 0; i < size; i++) if (n == 0 || ids[n - 1] != ids[i]) ids[n++] = ids[i];
+                size = n;
+                sorted = true;
+            }
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.skillswap.service;
+
+import com.skillswap.model.AnalyticsCounter;
+import com.skillswap.model.MentorStats;
+import com.skillswap.repository.AnalyticsCounterRepository;
+import com.skillswap.repository.DimensionTotal;
+import com.skillswap.repository.MentorStatsRepository;
+import com.skillswap.repository.SkillsRepository;
+import com.skillswap.repository.UserRepository;
+import com.skillswap.repository.UserSkillId;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 📊 PLATFORM ANALYTICS, maintained incrementally - nothing here ever scans sessions/connections/messages.
+// 1. Write paths call record(...): bumps an in-memory LongAdder, no DB statement on the request path.
+// 2. AnalyticsScheduler calls flush() every few seconds: deltas are added to daily rollup rows
+//    (analytics_daily_counters) and per-mentor totals (mentor_stats).
+// 3. The mentor leaderboard is a top-K kept in memory, updated from the flushed totals.
+@Service
+public class AnalyticsService {
+
+    public static final String MESSAGES_SENT = "MESSAGES_SENT";
+    public static final String SESSIONS_BOOKED = "SESSIONS_BOOKED";
+    public static final String SESSIONS_COMPLETED = "SESSIONS_COMPLETED";
+    public static final String SESSIONS_BY_SKILL = "SESSIONS_BY_SKILL";
+    public static final String CONNECTIONS_REQUESTED = "CONNECTIONS_REQUESTED";
+    public static final String CONNECTIONS_ACCEPTED = "CONNECTIONS_ACCEPTED";
+    public static final String CONNECTIONS_REJECTED = "CONNECTIONS_REJECTED";
+
+    @Autowired
+    private AnalyticsCounterRepository counterRepo;
+
+    @Autowired
+    private MentorStatsRepository mentorStatsRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private SkillsRepository skillsRepo;
+
+    private record CounterKey(LocalDate day, String metric, long dimensionId) {}
+
+    // Not flushed yet
+    private final Map<CounterKey, LongAdder> pendingCounters = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> pendingCompletedByMentor = new ConcurrentHashMap<>();
+    // (day, mentorId) of booked sessions - turned into SESSIONS_BY_SKILL at flush time
+    private final Map<CounterKey, LongAdder> pendingBookingsByMentor = new ConcurrentHashMap<>();
+
+    private final Leaderboard leaderboard;
+    private volatile boolean leaderboardSeeded;
+
+    public AnalyticsService(@Value("${skillswap.analytics.leaderboard-size:100}") int leaderboardSize) {
+        this.leaderboard = new Leaderboard(leaderboardSize);
+    }
+
+    // ---------- write side (cheap, called on every write) ----------
+
+    public void record(String metric) {
+        add(pendingCounters, new CounterKey(LocalDate.now(), metric, 0), 1);
+    }
+
+    public void recordSessionBooked(Long mentorId) {
+        record(SESSIONS_BOOKED);
+        add(pendingBookingsByMentor, new CounterKey(LocalDate.now(), SESSIONS_BY_SKILL, mentorId), 1);
+    }
+
+    // day = the day the session ended (the completion job can be catching up on older sessions)
+    public void recordSessionCompleted(Long mentorId, LocalDate day) {
+        add(pendingCounters, new CounterKey(day, SESSIONS_COMPLETED, 0), 1);
+        pendingCompletedByMentor.computeIfAbsent(mentorId, id -> new LongAdder()).increment();
+    }
+
+    private static void add(Map<CounterKey, LongAdder> counters, CounterKey key, long delta) {
+        if (key.day().equals(LocalDate.now())) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            return;
+        }
+        // Past-day keys are removed by drain() - add under the map lock so nothing lands in a removed adder
+        counters.compute(key, (k, adder) -> {
+            LongAdder target = adder == null ? new LongAdder() : adder;
+            target.add(delta);
+            return target;
+        });
+    }
+
+    // ---------- flush (AnalyticsScheduler) ----------
+
+    // A delta whose write fails goes back into the pending maps for the next flush (then the error is rethrown)
+    public synchronized void flush() {
+        LocalDate today = LocalDate.now();
+
+        writeCounters(drain(pendingCounters, today));
+
+        Map<CounterKey, Long> bookings = drain(pendingBookingsByMentor, today);
+        if (!bookings.isEmpty()) {
+            Map<CounterKey, Long> bySkill;
+            try {
+                bySkill = bookingsBySkill(bookings);
+            } catch (RuntimeException e) {
+                bookings.forEach((key, count) -> add(pendingBookingsByMentor, key, count));
+                throw e;
+            }
+            // Failed ones are retried from pendingCounters (already per skill)
+            writeCounters(bySkill);
+        }
+
+        RuntimeException failure = null;
+        List<Long> touchedMentors = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> pending : pendingCompletedByMentor.entrySet()) {
+            long delta = pending.getValue().sumThenReset();
+            if (delta == 0) continue;
+            try {
+                addToMentorStats(pending.getKey(), delta);
+                touchedMentors.add(pending.getKey());
+            } catch (RuntimeException e) {
+                pending.getValue().add(delta);
+                failure = e;
+            }
+        }
+        if (!touchedMentors.isEmpty()) {
+            ensureLeaderboardSeeded();
+            for (MentorStats stats : mentorStatsRepo.findAllById(touchedMentors)) {
+                leaderboard.offer(stats.getMentorId(), stats.getCompletedSessions());
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    // One query for the skills of every mentor booked since the last flush
+    private Map<CounterKey, Long> bookingsBySkill(Map<CounterKey, Long> bookings) {
+        Map<Long, List<Long>> skillsByMentor = new HashMap<>();
+        for (UserSkillId link : userRepo.findSkillIds(bookings.keySet().stream().map(CounterKey::dimensionId).toList())) {
+            skillsByMentor.computeIfAbsent(link.getUserId(), id -> new ArrayList<>()).add(link.getSkillId());
+        }
+        Map<CounterKey, Long> bySkill = new HashMap<>();
+        bookings.forEach((key, count) -> {
+            for (Long skillId : skillsByMentor.getOrDefault(key.dimensionId(), List.of())) {
+                bySkill.merge(new CounterKey(key.day(), SESSIONS_BY_SKILL, skillId), count, Long::sum);
+            }
+        });
+        return bySkill;
+    }
+
+    private void writeCounters(Map<CounterKey, Long> deltas) {
+        RuntimeException failure = null;
+        for (Map.Entry<CounterKey, Long> delta : deltas.entrySet()) {
+            try {
+                addToCounter(delta.getKey(), delta.getValue());
+            } catch (RuntimeException e) {
+                add(pendingCounters, delta.getKey(), delta.getValue());
+                failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    private void addToMentorStats(Long mentorId, long delta) {
+        if (mentorStatsRepo.incrementCompleted(mentorId, delta) > 0) return;
+        MentorStats stats = new MentorStats();
+        stats.setMentorId(mentorId);
+        stats.setCompletedSessions(delta);
+        try {
+            mentorStatsRepo.save(stats);
+        } catch (DataIntegrityViolationException raced) {
+            mentorStatsRepo.incrementCompleted(mentorId, delta);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("❌ ANALYTICS FLUSH FAILED on shutdown: " + e.getMessage());
+        }
+    }
+
+    // Take the pending deltas; keys from past days are removed as they are drained (see add())
+    private static Map<CounterKey, Long> drain(Map<CounterKey, LongAdder> counters, LocalDate today) {
+        Map<CounterKey, Long> drained = new HashMap<>();
+        for (CounterKey key : counters.keySet()) {
+            if (key.day().isBefore(today)) {
+                counters.computeIfPresent(key, (k, adder) -> {
+                    long delta = adder.sumThenReset();
+                    if (delta > 0) drained.put(k, delta);
+                    return null;
+                });
+            } else {
+                LongAdder adder = counters.get(key);
+                long delta = adder == null ? 0 : adder.sumThenReset();
+                if (delta > 0) drained.put(key, delta);
+            }
+        }
+        return drained;
+    }
+
+    private void addToCounter(CounterKey key, long delta) {
+        if (counterRepo.increment(key.metric(), key.day(), key.dimensionId(), delta) > 0) return;
+        AnalyticsCounter counter = new AnalyticsCounter();
+        counter.setBucketDay(key.day());
+        counter.setMetric(key.metric());
+        counter.setDimensionId(key.dimensionId());
+        counter.setTotal(delta);
+        try {
+            counterRepo.save(counter);
+        } catch (DataIntegrityViolationException raced) {
+            // Another instance created the bucket first
+            counterRepo.increment(key.metric(), key.day(), key.dimensionId(), delta);
+        }
+    }
+
+    // ---------- read side (rollup rows only) ----------
+
+    public record DailyValue(LocalDate day, long total) {}
+
+    public record SkillSessions(Long skillId, String skillName, long sessions) {}
+
+    public record AcceptanceRate(long requested, long accepted, long rejected, double acceptanceRate) {}
+
+    public record MentorRank(Long mentorId, String name, long completedSessions) {}
+
+    public List<DailyValue> getDaily(String metric, LocalDate from, LocalDate to) {
+        return counterRepo.findByMetricAndDimensionIdAndBucketDayBetweenOrderByBucketDay(metric, 0, from, to).stream()
+                .map(c -> new DailyValue(c.getBucketDay(), c.getTotal()))
+                .toList();
+    }
+
+    private long getTotal(String metric, LocalDate from, LocalDate to) {
+        return getDaily(metric, from, to).stream().mapToLong(DailyValue::total).sum();
+    }
+
+    public List<SkillSessions> getSessionsPerSkill(LocalDate from, LocalDate to) {
+        List<DimensionTotal> totals = counterRepo.sumByDimension(SESSIONS_BY_SKILL, from, to);
+        Map<Long, String> names = new HashMap<>();
+        skillsRepo.findAllById(totals.stream().map(DimensionTotal::getDimensionId).toList())
+                .forEach(skill -> names.put(skill.getId(), skill.getSkillName()));
+        return totals.stream()
+                .map(t -> new SkillSessions(t.getDimensionId(), names.get(t.getDimensionId()), t.getTotal()))
+                .toList();
+    }
+
+    // accepted / (accepted + rejected) - pending requests aren't decided yet, so they don't count
+    public AcceptanceRate getConnectionAcceptance(LocalDate from, LocalDate to) {
+        long accepted = getTotal(CONNECTIONS_ACCEPTED, from, to);
+        long rejected = getTotal(CONNECTIONS_REJECTED, from, to);
+        double rate = accepted + rejected == 0 ? 0 : (double) accepted / (accepted + rejected);
+        return new AcceptanceRate(getTotal(CONNECTIONS_REQUESTED, from, to), accepted, rejected, rate);
+    }
+
+    public List<MentorRank> getTopMentors(int limit) {
+        ensureLeaderboardSeeded();
+        List<long[]> top = leaderboard.top(limit);
+        Map<Long, String> names = new HashMap<>();
+        userRepo.findByIdIn(top.stream().map(e -> e[0]).toList())
+                .forEach(contact -> names.put(contact.getId(), contact.getName()));
+        return top.stream()
+                .map(e -> new MentorRank(e[0], names.get(e[0]), e[1]))
+                .toList();
+    }
+
+    private void ensureLeaderboardSeeded() {
+        if (leaderboardSeeded) return;
+        synchronized (leaderboard) {
+            if (leaderboardSeeded) return;
+            for (MentorStats stats : mentorStatsRepo.findAllByOrderByCompletedSessionsDesc(PageRequest.of(0, leaderboard.capacity))) {
+                leaderboard.offer(stats.getMentorId(), stats.getCompletedSessions());
+            }
+            leaderboardSeeded = true;
+        }
+    }
+
+    // Top-K mentors by completed sessions. Totals only grow, so an entry only ever moves up or gets
+    // pushed out by someone overtaking it - the K best are always exact.
+    private static final class Leaderboard {
+        private final int capacity;
+        private final Map<Long, Long> scores = new HashMap<>();
+        private final TreeSet<long[]> ranking = new TreeSet<>(
+                Comparator.<long[]>comparingLong(e -> -e[1]).thenComparingLong(e -> e[0]));
+
+        Leaderboard(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(long mentorId, long total) {
+            Long current = scores.get(mentorId);
+            if (current != null) {
+                if (current >= total) return;
+                ranking.remove(new long[]{mentorId, current});
+            } else if (scores.size() >= capacity) {
+                long[] last = ranking.last();
+                if (total <= last[1]) return;
+                ranking.remove(last);
+                scores.remove(last[0]);
+            }
+            scores.put(mentorId, total);
+            ranking.add(new long[]{mentorId, total});
+        }
+
+        synchronized List<long[]> top(int limit) {
+            return ranking.stream().limit(limit).map(long[]::clone).toList();
+        }
+    }
+}
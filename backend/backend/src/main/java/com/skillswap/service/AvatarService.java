@@ -0,0 +1,256 @@
+package com.skillswap.service;
+
+import com.skillswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 🖼️ AVATARS: upload -> disk (named by SHA-256, so identical images are stored once) -> thumbnails in the background.
+// The user's avatarUrl only changes once the thumbnails exist - an image that fails to decode never becomes an avatar.
+// Layout: <dir>/original/<hash>, <dir>/<hash>-<size>.jpg
+@Service
+public class AvatarService {
+
+    // Square thumbnails. avatarUrl points at the small one (cards, chat list); swap the suffix for the big one.
+    public static final int SMALL = 128;
+    public static final int LARGE = 512;
+    private static final int[] SIZES = {SMALL, LARGE};
+
+    // Uploads above this are rejected (read from the header, nothing decoded). A tiny compressed file can
+    // still declare huge dimensions - e.g. a 100000x1024 PNG is a few hundred KB.
+    static final long MAX_PIXELS = 40_000_000L;
+    // Subsampling keeps the decoded bitmap at or below this many pixels (~16 MB as ARGB)
+    private static final long MAX_DECODED_PIXELS = 4_000_000L;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    private final Path root;
+    private final Path originals;
+
+    // Hash whose thumbnails are being generated right now -> users waiting for it as their avatar
+    private final Map<String, Set<Long>> inFlight = new ConcurrentHashMap<>();
+
+    public AvatarService(@Value("${skillswap.avatars.dir:data/avatars}") String dir) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.originals = root.resolve("original");
+        Files.createDirectories(originals);
+    }
+
+    // Saves the upload and returns the URL <baseUrl>/avatars/<hash>-128.jpg.
+    // avatarUrl is set to it right away if the thumbnails already exist, otherwise once they're generated.
+    public String store(Long userId, MultipartFile file, String baseUrl) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            // Stream to disk, hashing on the way - the upload is never held in memory
+            MessageDigest sha256 = newSha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            checkImage(temp);
+            String hash = HexFormat.of().formatHex(sha256.digest());
+
+            Path original = originals.resolve(hash);
+            if (Files.exists(original)) {
+                Files.delete(temp); // Same picture uploaded before - reuse it
+            } else {
+                Files.move(temp, original, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            String avatarUrl = baseUrl + "/avatars/" + thumbnailName(hash, SMALL);
+            if (Files.exists(thumbnail(hash, LARGE))) {
+                userRepository.updateAvatarUrl(userId, avatarUrl);
+                return avatarUrl;
+            }
+
+            boolean[] first = {false};
+            inFlight.compute(hash, (h, waiting) -> {
+                if (waiting == null) {
+                    waiting = ConcurrentHashMap.newKeySet();
+                    first[0] = true;
+                }
+                waiting.add(userId);
+                return waiting;
+            });
+            if (first[0]) {
+                try {
+                    taskExecutor.execute(() -> generateAndAssign(hash, original, avatarUrl));
+                } catch (RuntimeException e) {
+                    inFlight.remove(hash); // never started - don't leave waiters behind
+                    throw e;
+                }
+            }
+            return avatarUrl;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // What to serve for /avatars/{fileName}: the thumbnail, or the original while it's still being generated
+    public Path resolve(String fileName) {
+        Path thumb = root.resolve(fileName).normalize();
+        if (!thumb.getParent().equals(root)) {
+            throw new RuntimeException("Invalid avatar path");
+        }
+        return thumb;
+    }
+
+    public Path original(String thumbnailFileName) {
+        return originals.resolve(thumbnailFileName.substring(0, thumbnailFileName.indexOf('-')));
+    }
+
+    // Runs in the background: thumbnails first, then everyone who uploaded this image gets it as avatar
+    private void generateAndAssign(String hash, Path original, String avatarUrl) {
+        boolean ready = Files.exists(thumbnail(hash, LARGE)) || generateThumbnails(hash, original);
+        Set<Long> waiting = inFlight.remove(hash);
+        if (!ready) {
+            // Nobody points at it - drop the original so the URL 404s instead of serving the raw upload
+            deleteQuietly(original);
+            return;
+        }
+        for (Long userId : waiting) {
+            userRepository.updateAvatarUrl(userId, avatarUrl);
+        }
+    }
+
+    private boolean generateThumbnails(String hash, Path original) {
+        try {
+            BufferedImage source = readDownsampled(original, LARGE);
+            for (int size : SIZES) {
+                Path target = thumbnail(hash, size);
+                Path temp = Files.createTempFile(root, "thumb-", ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    ImageIO.write(squareThumbnail(source, size), "jpg", out);
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            System.out.println("🖼️ Thumbnails ready for avatar " + hash);
+            return true;
+        } catch (Exception e) {
+            System.err.println("❌ THUMBNAIL FAILED for " + hash + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Decode with subsampling so a 6000x4000 phone photo doesn't become a 96 MB bitmap.
+    // The step also keeps the decoded pixel count bounded - a long thin image can't decode at full size.
+    private BufferedImage readDownsampled(Path file, int targetSize) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) throw new IOException("No image reader");
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = Math.max(1, Math.min(width, height) / (targetSize * 2));
+                int budgetStep = (int) Math.ceil(Math.sqrt((double) width * height / MAX_DECODED_PIXELS));
+                step = Math.max(step, budgetStep);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Center crop to a square, then scale. Drawn onto RGB so PNG transparency doesn't break JPEG output.
+    private BufferedImage squareThumbnail(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+
+        BufferedImage thumb = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumb.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(java.awt.Color.WHITE);
+            g.fillRect(0, 0, size, size);
+            g.drawImage(source, 0, 0, size, size, x, y, x + side, y + side, null);
+        } finally {
+            g.dispose();
+        }
+        return thumb;
+    }
+
+    // Header only - format and dimensions, the pixels aren't decoded
+    private void checkImage(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new RuntimeException("Not a supported image (PNG, JPEG, GIF, BMP)");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels <= 0 || pixels > MAX_PIXELS) {
+                    throw new RuntimeException("Image too large (max " + MAX_PIXELS / 1_000_000 + " megapixels)");
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Not a supported image (PNG, JPEG, GIF, BMP)");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not delete " + file + ": " + e.getMessage());
+        }
+    }
+
+    private Path thumbnail(String hash, int size) {
+        return root.resolve(thumbnailName(hash, size));
+    }
+
+    private static String thumbnailName(String hash, int size) {
+        return hash + "-" + size + ".jpg";
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.skillswap.service;
+
+import com.skillswap.model.Connection;
+import com.skillswap.model.User;
+import com.skillswap.model.UserRef;
+import com.skillswap.repository.ConnectionRepository;
+import com.skillswap.repository.UserContact;
+import com.skillswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ConnectionService {
+
+    @Autowired
+    private ConnectionRepository connectionRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Lazy
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    // What "send request" returns - users as UserRef, identical for a new row and an existing one
+    public record SentRequest(Long id, UserRef requester, UserRef receiver, String status, String message,
+                              LocalDateTime createdAt) {
+
+        static SentRequest of(Connection c) {
+            return new SentRequest(c.getId(), UserRef.of(c.getRequester()), UserRef.of(c.getReceiver()),
+                    c.getStatus(), c.getMessage(), c.getCreatedAt());
+        }
+    }
+
+    // Idempotent: 1 light SELECT (both users' contacts) + 1 INSERT.
+    // If the pair is already connected (double click, retry, or the other user asked first) the
+    // unique constraint rejects the INSERT and the existing connection is returned instead.
+    public SentRequest sendRequest(Long requesterId, Long receiverId, String message) {
+        Map<Long, UserContact> contacts = userRepo.findByIdIn(List.of(requesterId, receiverId)).stream()
+                .collect(Collectors.toMap(UserContact::getId, Function.identity()));
+        UserContact requester = contacts.get(requesterId);
+        UserContact receiver = contacts.get(receiverId);
+        if (requester == null) throw new RuntimeException("Requester not found");
+        if (receiver == null) throw new RuntimeException("Receiver not found");
+
+        Connection conn = new Connection();
+        conn.setRequester(User.ref(requester.getId(), requester.getName(), requester.getEmail()));
+        conn.setReceiver(User.ref(receiver.getId(), receiver.getName(), receiver.getEmail()));
+        conn.setStatus("PENDING");
+        conn.setMessage(message); // Now matches the Model field
+        // What the column keeps (microseconds) - so a retry returns exactly the same createdAt
+        conn.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        Connection savedConn;
+        try {
+            savedConn = connectionRepo.saveAndFlush(conn);
+        } catch (DataIntegrityViolationException duplicate) {
+            return connectionRepo.findByUserLowIdAndUserHighId(
+                            Math.min(requesterId, receiverId), Math.max(requesterId, receiverId))
+                    .map(SentRequest::of)
+                    .orElseThrow(() -> duplicate);
+        }
+
+        // Only the request that actually created the row sends the email
+        if (receiver.getEmail() != null && !receiver.getEmail().isEmpty()
+                && !presenceService.shouldSkipEmail(receiver.getId())) {
+            emailService.sendConnectionRequestEmail(receiver.getEmail(), requester.getName(), message);
+        }
+        notificationService.publish(receiverId, "CONNECTION_REQUEST", requesterId, requester.getName(), savedConn.getId());
+        analyticsService.record(AnalyticsService.CONNECTIONS_REQUESTED);
+        return SentRequest.of(savedConn);
+    }
+
+    // "ACCEPTED" / "REJECTED" - the requester gets told either way
+    public Connection updateStatus(Long connectionId, String status) {
+        Connection conn = connectionRepo.findById(connectionId)
+                .orElseThrow(() -> new RuntimeException("Connection not found"));
+
+        String previousStatus = conn.getStatus();
+        // Convert "accepted" -> "ACCEPTED" to match DB convention
+        conn.setStatus(status.toUpperCase());
+        Connection saved = connectionRepo.save(conn);
+
+        boolean decided = "ACCEPTED".equals(saved.getStatus()) || "REJECTED".equals(saved.getStatus());
+        if (decided && !saved.getStatus().equals(previousStatus)) {
+            notificationService.publish(saved.getRequester().getId(), "CONNECTION_" + saved.getStatus(),
+                    saved.getReceiver().getId(), saved.getReceiver().getName(), saved.getId());
+            analyticsService.record("CONNECTIONS_" + saved.getStatus());
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,167 @@
+package com.skillswap.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.skillswap.model.Connection;
+import com.skillswap.model.Session;
+import com.skillswap.model.Skills;
+import com.skillswap.model.User;
+import com.skillswap.repository.ConnectionRepository;
+import com.skillswap.repository.SessionRepository;
+import com.skillswap.repository.SkillsRepository;
+import com.skillswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+// 📊 DASHBOARD: everything the home screen needs in ONE round trip instead of five.
+// The user is looked up once; each section runs on its own virtual thread (and borrows its own pool
+// connection for the length of one query). Results are taken in completion order, so the first failure
+// cancels the sections still running.
+// All dashboards together use at most half the connection pool - the rest of the app never starves.
+@Service
+public class DashboardService {
+
+    public static final List<String> SECTIONS = List.of("me", "users", "pending", "connections", "sessions", "skills");
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ConnectionRepository connectionRepo;
+
+    @Autowired
+    private SessionRepository sessionRepo;
+
+    @Autowired
+    private SkillsRepository skillsRepo;
+
+    @Autowired
+    private ReadYourWritesService readYourWrites;
+
+    private final TransactionTemplate readOnlyTx;
+
+    // Shared by every dashboard request: pool connections the sections may hold at the same time
+    private final Semaphore connectionSlots;
+
+    private record Done(String section, Object value) {}
+
+    // Sections that weren't asked for are left out of the JSON
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Dashboard(User me, List<User> users, List<Connection> pending, List<Connection> connections,
+                            List<Session> sessions, List<Skills> skills) {}
+
+    public DashboardService(PlatformTransactionManager txManager,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.connectionSlots = new Semaphore(Math.max(1, poolSize / 2), true);
+    }
+
+    // sections = null/empty -> all of them
+    public Dashboard load(Long userId, Collection<String> sections) {
+        Set<String> wanted = normalize(sections);
+        boolean needsUser = wanted.contains("me") || wanted.contains("pending")
+                || wanted.contains("connections") || wanted.contains("sessions");
+
+        Map<String, Object> results = new HashMap<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Done> done = new ExecutorCompletionService<>(threads);
+            try {
+                // users/skills don't depend on who is asking - they start alongside the user lookup
+                int running = fork(done, wanted, "users", userId, userRepo::findAll)
+                        + fork(done, wanted, "skills", userId, skillsRepo::findAll);
+                if (needsUser) {
+                    done.submit(() -> new Done("me", query(userId, () -> userRepo.findById(userId)
+                            .orElseThrow(() -> new RuntimeException("User not found")))));
+                    running++;
+                }
+
+                while (running-- > 0) {
+                    Done next = take(done);
+                    results.put(next.section(), next.value());
+                    if (next.section().equals("me")) {
+                        User user = (User) next.value();
+                        running += fork(done, wanted, "pending", userId,
+                                () -> connectionRepo.findByReceiverAndStatus(user, "PENDING"))
+                                + fork(done, wanted, "connections", userId,
+                                () -> connectionRepo.findAllConnections(user))
+                                + fork(done, wanted, "sessions", userId,
+                                () -> sessionRepo.findByMentorOrMentee(user, user));
+                    }
+                }
+            } catch (RuntimeException e) {
+                threads.shutdownNow(); // fail fast - interrupt the sections still running
+                throw e;
+            }
+        }
+        return new Dashboard(wanted.contains("me") ? (User) results.get("me") : null,
+                section(results, "users"), section(results, "pending"), section(results, "connections"),
+                section(results, "sessions"), section(results, "skills"));
+    }
+
+    // 1 if the section was started, 0 if it wasn't asked for
+    private int fork(CompletionService<Done> done, Set<String> wanted, String section, Long userId, Supplier<?> work) {
+        if (!wanted.contains(section)) return 0;
+        done.submit(() -> new Done(section, query(userId, work)));
+        return 1;
+    }
+
+    // Read-only transaction (-> replica), unless this user just wrote something.
+    // Runs on the section's own thread: the primary/replica pin is thread-local.
+    private <T> T query(Long userId, Supplier<T> work) throws InterruptedException {
+        connectionSlots.acquire();
+        try {
+            return readYourWrites.read(() -> readOnlyTx.execute(status -> work.get()), userId);
+        } finally {
+            connectionSlots.release();
+        }
+    }
+
+    private static Done take(CompletionService<Done> done) {
+        try {
+            return done.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard load interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> section(Map<String, Object> results, String section) {
+        return (List<T>) results.get(section);
+    }
+
+    private static Set<String> normalize(Collection<String> sections) {
+        if (sections == null || sections.isEmpty()) return Set.copyOf(SECTIONS);
+        Set<String> wanted = new HashSet<>();
+        for (String section : sections) {
+            String name = section.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) continue;
+            if (!SECTIONS.contains(name)) {
+                throw new RuntimeException("Unknown dashboard section: " + section + " (use " + String.join(",", SECTIONS) + ")");
+            }
+            wanted.add(name);
+        }
+        return wanted.isEmpty() ? Set.copyOf(SECTIONS) : wanted;
+    }
+}
@@ -1,11 +1,14 @@
 package com.skillswap.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+// Created on first use: the mail sender isn't needed to serve the first request
+@Lazy
 @Service
 public class EmailService {
 
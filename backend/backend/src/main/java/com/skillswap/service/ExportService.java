@@ -0,0 +1,120 @@
+package com.skillswap.service;
+
+import com.skillswap.model.User;
+import com.skillswap.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+
+    // Flush the response every N rows
+    private static final int FLUSH_EVERY = 500;
+
+    // MySQL (Connector/J) only streams row by row with fetch size Integer.MIN_VALUE - any other value
+    // buffers the whole result set. Other drivers (H2) take a normal fetch size.
+    private final int streamingFetchSize;
+
+    private final Semaphore exportSlots;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportService(@Value("${spring.datasource.url}") String datasourceUrl,
+                         @Value("${skillswap.export.max-concurrent:2}") int maxConcurrentExports) {
+        this.streamingFetchSize = datasourceUrl.startsWith("jdbc:mysql") ? Integer.MIN_VALUE : 500;
+        this.exportSlots = new Semaphore(maxConcurrentExports);
+    }
+
+    // One NDJSON line = {"type": "...", "data": {...}}
+    record ExportLine(String type, Object data) {}
+
+    // Flat rows: only ids for the other side, so a line never drags a whole User graph along
+    record ConnectionRow(Long id, Long requesterId, Long receiverId, String status, String message, LocalDateTime createdAt) {}
+
+    record SessionRow(Long id, Long mentorId, Long menteeId, LocalDateTime startTime, int durationMinutes,
+                      String status, String meetingLink, LocalDateTime createdAt) {}
+
+    record MessageRow(Long id, Long senderId, Long receiverId, String text, LocalDateTime timestamp) {}
+
+    // Writes the user's full history as NDJSON, one row at a time.
+    // Every section is a flat projection streamed straight from the result set: no entities, no
+    // per-row selects for the @ManyToOne users, heap stays flat no matter how many messages there are.
+    // Runs while holding an export slot (see tryStartExport) - it keeps a connection for the whole download.
+    @Transactional(readOnly = true)
+    public void writeUserExport(Long userId, OutputStream out) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        writeLine(out, new ExportLine("profile", user));
+        out.flush();
+
+        writeRows(out, "connection", stream(
+                "SELECT c.id, c.requester.id, c.receiver.id, c.status, c.message, c.createdAt " +
+                "FROM Connection c WHERE c.requester.id = :userId OR c.receiver.id = :userId ORDER BY c.createdAt ASC",
+                ConnectionRow.class, userId));
+
+        writeRows(out, "session", stream(
+                "SELECT s.id, s.mentor.id, s.mentee.id, s.startTime, s.durationMinutes, s.status, s.meetingLink, s.createdAt " +
+                "FROM Session s WHERE s.mentor.id = :userId OR s.mentee.id = :userId ORDER BY s.startTime ASC",
+                SessionRow.class, userId));
+
+        // The big one
+        writeRows(out, "message", stream(
+                "SELECT m.id, m.sender.id, m.receiver.id, m.text, m.timestamp " +
+                "FROM Message m WHERE m.sender.id = :userId OR m.receiver.id = :userId ORDER BY m.timestamp ASC",
+                MessageRow.class, userId));
+        out.flush();
+    }
+
+    // false = too many exports running already (each one pins a pool connection until the client is done)
+    public boolean tryStartExport() {
+        return exportSlots.tryAcquire();
+    }
+
+    public void finishExport() {
+        exportSlots.release();
+    }
+
+    // Only the export streams, so only the export pays for it - the fetch size is set per query,
+    // not on the connection URL (useCursorFetch would make every statement in the app a server-side prepare)
+    private <T> Stream<T> stream(String jpql, Class<T> rowType, Long userId) {
+        return entityManager.createQuery(jpql, rowType)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamingFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private <T> void writeRows(OutputStream out, String type, Stream<T> rows) throws IOException {
+        try (rows) {
+            int count = 0;
+            for (T row : (Iterable<T>) rows::iterator) {
+                writeLine(out, new ExportLine(type, row));
+                if (++count % FLUSH_EVERY == 0) out.flush();
+            }
+        }
+    }
+
+    private void writeLine(OutputStream out, ExportLine line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+}
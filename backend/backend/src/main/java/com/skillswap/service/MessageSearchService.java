@@ -0,0 +1,197 @@
+package com.skillswap.service;
+
+import com.skillswap.model.Message;
+import com.skillswap.repository.MessageHit;
+import com.skillswap.repository.MessageRepository;
+import com.skillswap.repository.MessageText;
+import com.skillswap.search.MessageIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 🔎 MESSAGE SEARCH: "find that link Sam sent me" across a user's whole message history.
+// Sends are indexed right after commit on this instance; sync() pulls in everything else from the
+// messages table (startup catch-up after a crash, or messages sent through another instance).
+//
+// Ids are not committed in id order: a message can become visible after a higher id was already synced.
+// So the watermark only moves up to messages older than safety-lag, and every sync re-reads from there.
+// Re-reading a message that is already indexed is harmless (posting lists are unions).
+@Service
+public class MessageSearchService {
+
+    private static final int MAX_PAGE = 50;
+    private static final int MAX_QUERY = 200;
+    private static final int SNIPPET_BEFORE = 40;
+    private static final int SNIPPET_AFTER = 100;
+    private static final int SYNC_PAGE = 5000;
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    private final MessageIndex index;
+    private final Duration safetyLag;
+    private final int flushEvery;
+
+    // Every message id up to here is committed AND indexed -> becomes the on-disk watermark
+    private final AtomicLong stableUpTo;
+    private final AtomicBoolean syncing = new AtomicBoolean();
+
+    public record SearchHit(Long messageId, LocalDateTime timestamp, boolean fromMe,
+                            Long otherUserId, String otherUserName, String snippet) {}
+
+    public record SearchPage(List<SearchHit> hits, Long nextCursor) {}
+
+    public MessageSearchService(@Value("${skillswap.search.dir:data/search-index}") String dir,
+                                @Value("${skillswap.search.sync-safety-lag:60s}") Duration safetyLag,
+                                @Value("${skillswap.search.sync-flush-every:50000}") int flushEvery) throws IOException {
+        this.index = new MessageIndex(Paths.get(dir).toAbsolutePath().normalize());
+        this.safetyLag = safetyLag;
+        this.flushEvery = flushEvery;
+        this.stableUpTo = new AtomicLong(index.watermark());
+    }
+
+    // Call inside the sending transaction - the message becomes searchable once it commits
+    public void indexAfterCommit(Message msg) {
+        Runnable add = () -> index.add(msg.getId(), msg.getSender().getId(), msg.getReceiver().getId(), msg.getText());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add.run();
+                }
+            });
+        } else {
+            add.run();
+        }
+    }
+
+    // Newest first. All words must match (any order, case-insensitive). before = null -> first page.
+    public SearchPage search(Long userId, String query, Long before, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE));
+        String q = query == null ? "" : query.length() > MAX_QUERY ? query.substring(0, MAX_QUERY) : query;
+
+        List<Long> ids;
+        try {
+            ids = index.search(userId, q, before, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (ids.isEmpty()) return new SearchPage(List.of(), null);
+
+        Map<Long, MessageHit> rows = messageRepo.findHitsByIdIn(ids).stream()
+                .collect(Collectors.toMap(MessageHit::getId, Function.identity()));
+        List<String> terms = MessageIndex.tokenize(q);
+        List<SearchHit> hits = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MessageHit row = rows.get(id);
+            if (row == null) continue;
+            boolean fromMe = userId.equals(row.getSenderId());
+            if (!fromMe && !userId.equals(row.getReceiverId())) continue; // never leak someone else's message
+            hits.add(new SearchHit(row.getId(), row.getTimestamp(), fromMe,
+                    fromMe ? row.getReceiverId() : row.getSenderId(),
+                    fromMe ? row.getReceiverName() : row.getSenderName(),
+                    snippet(row.getText(), terms)));
+        }
+        Long nextCursor = ids.size() == size ? ids.get(ids.size() - 1) : null;
+        return new SearchPage(hits, nextCursor);
+    }
+
+    // Indexes every message above the stable watermark, in the background. Overlapping calls are dropped.
+    public void sync() {
+        if (!syncing.compareAndSet(false, true)) return;
+        taskExecutor.execute(() -> {
+            try {
+                int count = catchUp();
+                if (count > 1000) System.out.println("🔎 Search index caught up on " + count + " messages");
+            } catch (Exception e) {
+                System.err.println("❌ SEARCH INDEX SYNC FAILED: " + e.getMessage());
+            } finally {
+                syncing.set(false);
+            }
+        });
+    }
+
+    private int catchUp() throws IOException {
+        // A message written before this moment has committed (or rolled back) by now -> safe to pass
+        LocalDateTime settled = LocalDateTime.now().minus(safetyLag);
+        long after = stableUpTo.get();
+        int count = 0;
+        boolean settledSoFar = true;
+        while (true) {
+            List<MessageText> page = messageRepo.findTextAfter(after, PageRequest.of(0, SYNC_PAGE));
+            for (MessageText row : page) {
+                index.add(row.getId(), row.getSenderId(), row.getReceiverId(), row.getText());
+                // Ordered by id: the watermark follows until the first message that is too recent
+                settledSoFar &= row.getTimestamp() != null && row.getTimestamp().isBefore(settled);
+                if (settledSoFar) stableUpTo.accumulateAndGet(row.getId(), Math::max);
+                after = row.getId();
+                count++;
+            }
+            // Long catch-up (fresh index, after a crash): don't pile it all up in memory
+            if (index.pendingMessages() >= flushEvery) index.flush(stableUpTo.get());
+            if (page.size() < SYNC_PAGE) return count;
+        }
+    }
+
+    // Writes pending postings to a new segment file, then merges if there are too many files
+    public void flushAndMerge(int maxSegments) {
+        try {
+            index.flush(stableUpTo.get());
+            index.merge(maxSegments);
+        } catch (IOException e) {
+            System.err.println("❌ SEARCH INDEX FLUSH FAILED: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            index.flush(stableUpTo.get());
+        } catch (IOException e) {
+            System.err.println("❌ SEARCH INDEX FLUSH FAILED on shutdown: " + e.getMessage());
+        } finally {
+            index.close();
+        }
+    }
+
+    // ~140 chars around the first matching word
+    static String snippet(String text, List<String> terms) {
+        if (text == null) return "";
+        String lower = text.toLowerCase(Locale.ROOT);
+        int at = -1;
+        if (lower.length() == text.length()) {
+            for (String term : terms) {
+                int i = lower.indexOf(term);
+                if (i >= 0 && (at < 0 || i < at)) at = i;
+            }
+        }
+        if (at < 0) at = 0;
+        int from = Math.max(0, at - SNIPPET_BEFORE);
+        int to = Math.min(text.length(), at + SNIPPET_AFTER);
+        return (from > 0 ? "…" : "") + text.substring(from, to).strip() + (to < text.length() ? "…" : "");
+    }
+}
@@ -0,0 +1,53 @@
+package com.skillswap.service;
+
+import com.skillswap.model.Message;
+import com.skillswap.model.User;
+import com.skillswap.repository.MessageRepository;
+import com.skillswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class MessageService {
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Transactional
+    public Message sendMessage(Long senderId, Long receiverId, String text) {
+        User sender = userRepo.findById(senderId).orElseThrow();
+        User receiver = userRepo.findById(receiverId).orElseThrow();
+
+        Message msg = new Message();
+        msg.setSender(sender);
+        msg.setReceiver(receiver);
+        msg.setText(text);
+        msg.setTimestamp(LocalDateTime.now()); // Set time manually to be safe
+
+        Message saved = messageRepo.save(msg);
+        analyticsService.record(AnalyticsService.MESSAGES_SENT);
+        messageSearchService.indexAfterCommit(saved);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Message> getConversation(Long userId1, Long userId2) {
+        User user1 = userRepo.findById(userId1).orElseThrow();
+        User user2 = userRepo.findById(userId2).orElseThrow();
+
+        return messageRepo.findConversation(user1, user2);
+    }
+}
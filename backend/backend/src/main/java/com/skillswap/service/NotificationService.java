@@ -0,0 +1,211 @@
+package com.skillswap.service;
+
+import com.skillswap.model.Notification;
+import com.skillswap.repository.NotificationFeedState;
+import com.skillswap.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// 🔔 NOTIFICATION FEED (fan-out on write)
+// Every event is written once to the notifications table AND pushed into the recipient's in-memory feed
+// (last N notifications + unread counter). The bell and the first page are served from the feed; only older
+// pages go to the DB. Feeds are per instance and built from the table on first use.
+// Single instance (revalidate-ms=0, the default): the feed is always current, the table is only read on first use.
+// Several instances: set revalidate-ms. A feed older than that is checked with one aggregate (newest id + unread
+// count) and only reloaded if another instance published or marked something read.
+@Service
+public class NotificationService {
+
+    private static final int MAX_PAGE = 100;
+
+    @Autowired
+    private NotificationRepository notificationRepo;
+
+    private final int feedSize;
+    private final long revalidateMillis;
+
+    // userId -> feed, least recently used feeds are dropped past maxCachedFeeds
+    private final Map<Long, Feed> feeds;
+
+    public record NotificationPage(List<Notification> items, Long nextCursor) {}
+
+    public NotificationService(@Value("${skillswap.notifications.feed-size:50}") int feedSize,
+                               @Value("${skillswap.notifications.cached-feeds:10000}") int maxCachedFeeds,
+                               @Value("${skillswap.notifications.revalidate-ms:0}") long revalidateMillis) {
+        this.feedSize = feedSize;
+        this.revalidateMillis = revalidateMillis;
+        this.feeds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Feed> eldest) {
+                return size() > maxCachedFeeds;
+            }
+        });
+    }
+
+    public Notification publish(Long recipientId, String type, Long actorId, String actorName, Long refId) {
+        Notification n = new Notification();
+        n.setRecipientId(recipientId);
+        n.setType(type);
+        n.setActorId(actorId);
+        n.setActorName(actorName);
+        n.setRefId(refId);
+        n.setCreatedAt(LocalDateTime.now());
+        Notification saved = notificationRepo.save(n);
+
+        // get, not computeIfAbsent: no feed = nobody has read it here yet, the first read picks the row up
+        // (and an empty placeholder would push an active user's loaded feed out of the LRU)
+        Feed feed = feeds.get(recipientId);
+        if (feed != null) {
+            synchronized (feed) {
+                if (feed.loaded) feed.push(saved);
+            }
+        }
+        return saved;
+    }
+
+    // Cursor pagination, newest first. before = null -> first page.
+    public NotificationPage getPage(Long userId, Long before, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE));
+        Feed feed = loadedFeed(userId);
+        List<Notification> items;
+        synchronized (feed) {
+            items = feed.newestBefore(before, size);
+        }
+        if (items.size() < size && feed.hasOlder) {
+            items = before == null
+                    ? notificationRepo.findByRecipientIdOrderByIdDesc(userId, PageRequest.of(0, size))
+                    : notificationRepo.findByRecipientIdAndIdLessThanOrderByIdDesc(userId, before, PageRequest.of(0, size));
+        }
+        Long nextCursor = items.size() == size ? items.get(items.size() - 1).getId() : null;
+        return new NotificationPage(items, nextCursor);
+    }
+
+    public long getUnreadCount(Long userId) {
+        Feed feed = loadedFeed(userId);
+        synchronized (feed) {
+            return feed.unread;
+        }
+    }
+
+    public int markRead(Long userId, Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        Feed feed = loadedFeed(userId);
+        // Under the feed lock so a reload can't land between the UPDATE and the in-memory adjustment
+        synchronized (feed) {
+            int updated = notificationRepo.markRead(userId, ids);
+            feed.markRead(new HashSet<>(ids), updated);
+            return updated;
+        }
+    }
+
+    public int markAllRead(Long userId) {
+        Feed feed = loadedFeed(userId);
+        synchronized (feed) {
+            int updated = notificationRepo.markAllRead(userId);
+            feed.markRead(null, updated);
+            return updated;
+        }
+    }
+
+    private Feed loadedFeed(Long userId) {
+        Feed feed = feeds.computeIfAbsent(userId, id -> new Feed(feedSize));
+        synchronized (feed) {
+            long now = System.currentTimeMillis();
+            if (feed.loaded && revalidateMillis > 0 && now - feed.loadedAt > revalidateMillis) {
+                NotificationFeedState state = notificationRepo.findFeedState(userId);
+                long unread = state.getUnread() == null ? 0 : state.getUnread();
+                if (Objects.equals(state.getNewestId(), feed.newestId()) && unread == feed.unread) {
+                    feed.loadedAt = now; // unchanged - keep serving from memory
+                } else {
+                    feed.loaded = false;
+                }
+            }
+            if (!feed.loaded) {
+                feed.reset();
+                List<Notification> latest = notificationRepo.findByRecipientIdOrderByIdDesc(userId, PageRequest.of(0, feedSize));
+                for (int i = latest.size() - 1; i >= 0; i--) {
+                    feed.push(latest.get(i));
+                }
+                feed.hasOlder = latest.size() == feedSize;
+                feed.unread = notificationRepo.countByRecipientIdAndReadFalse(userId);
+                feed.loaded = true;
+                feed.loadedAt = now;
+            }
+        }
+        return feed;
+    }
+
+    // The newest notifications, ascending by id, at most `capacity`. Guarded by synchronized(feed).
+    static final class Feed {
+        private static final Comparator<Notification> BY_ID = Comparator.comparing(Notification::getId);
+
+        private final int capacity;
+        private final List<Notification> items;
+        long unread;
+        boolean loaded;
+        long loadedAt;
+        boolean hasOlder; // true = the table has rows that fell out of the feed
+
+        Feed(int capacity) {
+            this.capacity = capacity;
+            this.items = new ArrayList<>(capacity);
+        }
+
+        void reset() {
+            items.clear();
+            unread = 0;
+            hasOlder = false;
+        }
+
+        // Ids already in the feed are ignored: a (re)load can pick a row up between publish's save and its push.
+        // Concurrent publishes may push out of id order, so insert in place.
+        void push(Notification n) {
+            int at = Collections.binarySearch(items, n, BY_ID);
+            if (at >= 0) return;
+            at = -at - 1;
+            if (loaded && !n.isRead()) unread++;
+            if (items.size() == capacity) {
+                hasOlder = true;
+                if (at == 0) return; // older than everything we keep
+                items.remove(0);
+                at--;
+            }
+            items.add(at, n);
+        }
+
+        Long newestId() {
+            return items.isEmpty() ? null : items.get(items.size() - 1).getId();
+        }
+
+        List<Notification> newestBefore(Long before, int limit) {
+            List<Notification> out = new ArrayList<>(Math.min(limit, items.size()));
+            for (int i = items.size() - 1; i >= 0 && out.size() < limit; i--) {
+                Notification n = items.get(i);
+                if (before == null || n.getId() < before) out.add(n);
+            }
+            return out;
+        }
+
+        // ids = null -> everything
+        void markRead(Set<Long> ids, int updatedInDb) {
+            for (Notification n : items) {
+                if (ids == null || ids.contains(n.getId())) n.setRead(true);
+            }
+            unread = Math.max(0, unread - updatedInDb);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.skillswap.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 🟢 WHO IS ONLINE (in memory, per instance)
+// lastSeen:  userId -> last heartbeat (ms). ConcurrentHashMap = lock-free reads, per-bin locking on writes.
+// wheel:     timing wheel of 1-second slots. A heartbeat drops the user id into the slot where it will expire;
+//            the expiry tick only looks at the slot that is due instead of scanning every user.
+@Service
+public class PresenceService {
+
+    private static final long TICK_MS = 1000;
+
+    private final long ttlMs;
+    private final boolean skipEmailWhenOnline;
+
+    private final Map<Long, Long> lastSeen = new ConcurrentHashMap<>();
+    private final List<Set<Long>> wheel;
+    private long lastExpiredTick;
+
+    public PresenceService(@Value("${skillswap.presence.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${skillswap.presence.skip-email-when-online:false}") boolean skipEmailWhenOnline) {
+        this.ttlMs = ttlSeconds * 1000;
+        this.skipEmailWhenOnline = skipEmailWhenOnline;
+        // One lap of the wheel must be longer than the TTL, so a slot is drained before it is reused
+        int slots = (int) (ttlMs / TICK_MS) + 2;
+        this.wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        this.lastExpiredTick = System.currentTimeMillis() / TICK_MS;
+    }
+
+    public void heartbeat(Long userId) {
+        long now = System.currentTimeMillis();
+        lastSeen.put(userId, now);
+        long expiryTick = (now + ttlMs) / TICK_MS + 1;
+        wheel.get((int) (expiryTick % wheel.size())).add(userId);
+    }
+
+    public void goOffline(Long userId) {
+        lastSeen.remove(userId);
+    }
+
+    public boolean isOnline(Long userId) {
+        Long seen = lastSeen.get(userId);
+        return seen != null && seen + ttlMs > System.currentTimeMillis();
+    }
+
+    // Bulk "which of these users are online?" - one map lookup each, no DB
+    public List<Long> onlineAmong(Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        List<Long> online = new ArrayList<>();
+        for (Long userId : userIds) {
+            Long seen = lastSeen.get(userId);
+            if (seen != null && seen + ttlMs > now) {
+                online.add(userId);
+            }
+        }
+        return online;
+    }
+
+    // true = the user is active in the app right now, don't email them
+    public boolean shouldSkipEmail(Long userId) {
+        return skipEmailWhenOnline && isOnline(userId);
+    }
+
+    // Called every second by PresenceScheduler: drains the slots that came due since the last call
+    public synchronized void expireDue() {
+        long now = System.currentTimeMillis();
+        long currentTick = now / TICK_MS;
+        long from = Math.max(lastExpiredTick + 1, currentTick - wheel.size() + 1);
+        for (long tick = from; tick <= currentTick; tick++) {
+            Set<Long> slot = wheel.get((int) (tick % wheel.size()));
+            for (Long userId : slot) {
+                slot.remove(userId);
+                // Only drop users whose LAST heartbeat expired; newer heartbeats sit in a later slot
+                lastSeen.computeIfPresent(userId, (id, seen) -> seen + ttlMs <= now ? null : seen);
+            }
+        }
+        lastExpiredTick = currentTick;
+    }
+}
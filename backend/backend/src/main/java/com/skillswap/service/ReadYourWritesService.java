@@ -0,0 +1,57 @@
+package com.skillswap.service;
+
+import com.skillswap.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Read-your-writes on top of the replica routing: a user who just wrote something reads from the
+// PRIMARY until the replicas have had time (max-lag) to catch up.
+// No-op when read replicas are disabled.
+@Service
+public class ReadYourWritesService {
+
+    @Value("${skillswap.datasource.routing.enabled:false}")
+    private boolean routingEnabled;
+
+    @Value("${skillswap.datasource.routing.max-lag:5s}")
+    private Duration maxLag;
+
+    // userId -> time (ms) until which the user's reads must go to the primary
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public void recordWrite(Long... userIds) {
+        if (!routingEnabled) return;
+        long until = System.currentTimeMillis() + maxLag.toMillis();
+        for (Long userId : userIds) {
+            pinnedUntil.put(userId, until);
+        }
+    }
+
+    // Call OUTSIDE the @Transactional(readOnly = true) method so routing is decided before it starts
+    public <T> T read(Supplier<T> query, Long... userIds) {
+        if (!routingEnabled) return query.get();
+        long now = System.currentTimeMillis();
+        boolean pinned = false;
+        for (Long userId : userIds) {
+            Long until = pinnedUntil.get(userId);
+            if (until == null) continue;
+            if (until > now) {
+                pinned = true;
+            } else {
+                pinnedUntil.remove(userId, until);
+            }
+        }
+        return pinned ? ReplicaRoutingDataSource.onPrimary(query) : query.get();
+    }
+
+    // Drops pins that have run out (users who wrote once and never read again). Called by ReplicaLagMonitor.
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+}
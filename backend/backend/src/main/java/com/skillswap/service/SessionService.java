@@ -0,0 +1,117 @@
+package com.skillswap.service;
+
+import com.skillswap.model.Session;
+import com.skillswap.model.User;
+import com.skillswap.model.UserRef;
+import com.skillswap.repository.SessionRepository;
+import com.skillswap.repository.UserContact;
+import com.skillswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class SessionService {
+
+    @Autowired
+    private SessionRepository sessionRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Lazy
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    // Longest Idempotency-Key the column takes (sessions.idempotency_key)
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
+    // What booking returns - users as UserRef, identical for a new session and a retried one
+    public record Booking(Long id, UserRef mentor, UserRef mentee, LocalDateTime startTime, int durationMinutes,
+                          String status, String meetingLink, LocalDateTime createdAt) {
+
+        static Booking of(Session s) {
+            return new Booking(s.getId(), UserRef.of(s.getMentor()), UserRef.of(s.getMentee()), s.getStartTime(),
+                    s.getDurationMinutes(), s.getStatus(), s.getMeetingLink(), s.getCreatedAt());
+        }
+    }
+
+    // 1 SELECT (both users + "are they connected?") + 1 INSERT.
+    // With an idempotency key, a retry hits the unique key and gets the original session back.
+    public Booking scheduleSession(Long mentorId, Long menteeId, LocalDateTime startTime, String idempotencyKey) {
+        List<UserContact> contacts = userRepo.findContactsIfConnected(mentorId, menteeId);
+        if (contacts.size() < 2) {
+            // Slow path only on failure: say WHY it failed
+            if (userRepo.findByIdIn(List.of(mentorId, menteeId)).size() < 2) {
+                throw new RuntimeException("Mentor or mentee not found");
+            }
+            // 🔒 SECURITY: Must be connected to book!
+            throw new RuntimeException("ACCESS DENIED: You must connect with this mentor first!");
+        }
+        UserContact mentor = contacts.get(0).getId().equals(mentorId) ? contacts.get(0) : contacts.get(1);
+        UserContact mentee = contacts.get(0).getId().equals(menteeId) ? contacts.get(0) : contacts.get(1);
+
+        Session session = new Session();
+        session.setMentor(User.ref(mentor.getId(), mentor.getName(), mentor.getEmail()));
+        session.setMentee(User.ref(mentee.getId(), mentee.getName(), mentee.getEmail()));
+        session.setStartTime(startTime);
+        session.setDurationMinutes(60);
+        session.setStatus("CONFIRMED");
+        // Auto-generate a video link
+        session.setMeetingLink("https://meet.jit.si/SkillSwap-" + UUID.randomUUID());
+        // What the column keeps (microseconds) - so a retry returns exactly the same createdAt
+        session.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        session.setIdempotencyKey(idempotencyKey);
+
+        Session savedSession;
+        try {
+            savedSession = sessionRepo.saveAndFlush(session);
+        } catch (DataIntegrityViolationException duplicate) {
+            if (idempotencyKey == null) throw duplicate;
+            Session existing = sessionRepo.findByMentee_IdAndIdempotencyKey(menteeId, idempotencyKey)
+                    .orElseThrow(() -> duplicate);
+            // Same key but a different booking = client bug, not a retry
+            if (!existing.getMentor().getId().equals(mentorId) || !startTime.equals(existing.getStartTime())) {
+                throw new RuntimeException("Idempotency-Key was already used for a different booking");
+            }
+            return Booking.of(existing);
+        }
+
+        // 📧 SEND CONFIRMATION EMAILS
+        String time = startTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        if (mentee.getEmail() != null && !presenceService.shouldSkipEmail(mentee.getId())) {
+            emailService.sendSessionConfirmation(mentee.getEmail(), mentor.getName(), time, savedSession.getMeetingLink());
+        }
+        if (mentor.getEmail() != null && !presenceService.shouldSkipEmail(mentor.getId())) {
+            emailService.sendSessionConfirmation(mentor.getEmail(), mentee.getName(), time, savedSession.getMeetingLink());
+        }
+        notificationService.publish(mentor.getId(), "SESSION_SCHEDULED", mentee.getId(), mentee.getName(), savedSession.getId());
+        notificationService.publish(mentee.getId(), "SESSION_SCHEDULED", mentor.getId(), mentor.getName(), savedSession.getId());
+        analyticsService.recordSessionBooked(mentor.getId());
+        return Booking.of(savedSession);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Session> getMySessions(Long userId) {
+        User user = userRepo.findById(userId).orElseThrow();
+        // Return sessions where I am EITHER the mentor OR the mentee
+        return sessionRepo.findByMentorOrMentee(user, user);
+    }
+}
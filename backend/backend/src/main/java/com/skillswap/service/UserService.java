@@ -6,6 +6,7 @@ import com.skillswap.repository.SkillsRepository;
 import com.skillswap.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,10 +22,16 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<User> searchUsers(String skill) {
+        return userRepository.findBySkills_SkillNameContainingIgnoreCase(skill);
+    }
+
     // 🔥 ADD THIS MISSING METHOD 🔥
     public User addSkillToUser(Long userId, Long skillId) {
         User user = userRepository.findById(userId)
@@ -0,0 +1,64 @@
+-- Baseline: the schema Hibernate's ddl-auto=update produced so far (MySQL)
+
+CREATE TABLE users (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255),
+    email      VARCHAR(255),
+    password   VARCHAR(255),
+    role       VARCHAR(255),
+    bio        VARCHAR(255),
+    avatar_url VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE skills (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    skill_name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_skills (
+    user_id  BIGINT NOT NULL,
+    skill_id BIGINT NOT NULL,
+    CONSTRAINT fk_user_skills_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_skills_skill FOREIGN KEY (skill_id) REFERENCES skills (id)
+);
+
+CREATE TABLE connections (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    requester_id BIGINT,
+    receiver_id  BIGINT,
+    status       VARCHAR(255),
+    message      VARCHAR(255),
+    created_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_connections_requester FOREIGN KEY (requester_id) REFERENCES users (id),
+    CONSTRAINT fk_connections_receiver FOREIGN KEY (receiver_id) REFERENCES users (id)
+);
+
+CREATE TABLE messages (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    sender_id   BIGINT,
+    receiver_id BIGINT,
+    text        TEXT,
+    timestamp   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_messages_sender FOREIGN KEY (sender_id) REFERENCES users (id),
+    CONSTRAINT fk_messages_receiver FOREIGN KEY (receiver_id) REFERENCES users (id)
+);
+
+CREATE TABLE sessions (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    mentor_id        BIGINT,
+    mentee_id        BIGINT,
+    start_time       DATETIME(6),
+    duration_minutes INT NOT NULL,
+    status           VARCHAR(255),
+    meeting_link     VARCHAR(255),
+    created_at       DATETIME(6),
+    reminder_sent    BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_sessions_mentor FOREIGN KEY (mentor_id) REFERENCES users (id),
+    CONSTRAINT fk_sessions_mentee FOREIGN KEY (mentee_id) REFERENCES users (id)
+);
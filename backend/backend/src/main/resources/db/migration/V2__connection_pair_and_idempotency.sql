@@ -0,0 +1,34 @@
+-- One connection per user pair (either direction) + idempotent session booking
+-- Plain single-column ALTERs / subqueries only: also runs on H2 (MODE=MySQL)
+
+ALTER TABLE connections ADD COLUMN user_low_id BIGINT;
+ALTER TABLE connections ADD COLUMN user_high_id BIGINT;
+
+UPDATE connections
+SET user_low_id  = LEAST(requester_id, receiver_id),
+    user_high_id = GREATEST(requester_id, receiver_id);
+
+-- Drop duplicates left behind by the old check-then-insert race.
+-- Per pair keep the ACCEPTED row if there is one, otherwise the oldest.
+-- (The extra derived table makes MySQL materialize it, so we may delete from the table we read.)
+DELETE FROM connections
+WHERE id IN (
+    SELECT id FROM (
+        SELECT id,
+               ROW_NUMBER() OVER (
+                   PARTITION BY user_low_id, user_high_id
+                   ORDER BY CASE WHEN status = 'ACCEPTED' THEN 0 ELSE 1 END, id
+               ) AS pair_rank
+        FROM connections
+        WHERE user_low_id IS NOT NULL
+    ) ranked
+    WHERE pair_rank > 1
+);
+
+ALTER TABLE connections
+    ADD CONSTRAINT uk_connections_pair UNIQUE (user_low_id, user_high_id);
+
+-- Idempotency keys are per mentee: two users picking the same key never collide
+ALTER TABLE sessions ADD COLUMN idempotency_key VARCHAR(64);
+ALTER TABLE sessions
+    ADD CONSTRAINT uk_sessions_mentee_idempotency_key UNIQUE (mentee_id, idempotency_key);
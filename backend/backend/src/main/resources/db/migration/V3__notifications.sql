@@ -0,0 +1,15 @@
+-- In-app notification feed (see NotificationService)
+
+CREATE TABLE notifications (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    recipient_id BIGINT NOT NULL,
+    type         VARCHAR(32) NOT NULL,
+    actor_id     BIGINT,
+    actor_name   VARCHAR(255),
+    ref_id       BIGINT,
+    created_at   DATETIME(6) NOT NULL,
+    is_read      BIT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_notifications_recipient ON notifications (recipient_id, id);
@@ -0,0 +1,17 @@
+-- Incrementally maintained analytics (see AnalyticsService)
+
+CREATE TABLE analytics_daily_counters (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    bucket_day   DATE NOT NULL,
+    metric       VARCHAR(40) NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    total        BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_analytics_bucket UNIQUE (metric, bucket_day, dimension_id)
+);
+
+CREATE TABLE mentor_stats (
+    mentor_id          BIGINT NOT NULL,
+    completed_sessions BIGINT NOT NULL,
+    PRIMARY KEY (mentor_id)
+);
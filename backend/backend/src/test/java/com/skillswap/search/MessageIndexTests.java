@@ -0,0 +1,152 @@
+package com.skillswap.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageIndexTests {
+
+    @TempDir
+    Path dir;
+
+    // ---------- tokenizer ----------
+
+    @Test
+    void tokenizeLowercasesAndSplitsOnNonLetters() {
+        assertEquals(List.of("hello", "react", "hooks", "v18"), MessageIndex.tokenize("Hello, REACT-hooks! v18"));
+    }
+
+    @Test
+    void tokenizeKeepsUnicodeLettersAndDropsSingleChars() {
+        assertEquals(List.of("café", "über"), MessageIndex.tokenize("a café über x"));
+        assertEquals(List.of(), MessageIndex.tokenize(null));
+        assertEquals(List.of(), MessageIndex.tokenize(" ... "));
+    }
+
+    @Test
+    void tokenizeCutsLongTerms() {
+        String term = MessageIndex.tokenize("x".repeat(100)).get(0);
+        assertEquals(MessageIndex.MAX_TERM, term.length());
+    }
+
+    // ---------- segment format ----------
+
+    @Test
+    void segmentRoundTrip() throws IOException {
+        SortedMap<Long, SortedMap<String, long[]>> postings = new TreeMap<>();
+        postings.computeIfAbsent(1L, id -> new TreeMap<>()).put("java", new long[]{1, 2, 300, 70_000});
+        postings.get(1L).put("react", new long[]{5});
+        postings.computeIfAbsent(Long.MAX_VALUE, id -> new TreeMap<>()).put("big", new long[]{1L << 40, Long.MAX_VALUE});
+
+        Path file = dir.resolve("seg.idx");
+        IndexSegment.write(file, postings);
+        try (IndexSegment segment = IndexSegment.open(file)) {
+            assertArrayEquals(new long[]{1, 2, 300, 70_000}, segment.postings(1L, "java"));
+            assertArrayEquals(new long[]{5}, segment.postings(1L, "react"));
+            assertArrayEquals(new long[]{1L << 40, Long.MAX_VALUE}, segment.postings(Long.MAX_VALUE, "big"));
+            assertEquals(0, segment.postings(1L, "missing").length);
+            assertEquals(0, segment.postings(2L, "java").length);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("seg.idx"), files.map(p -> p.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void uncommittedWriterLeavesNoFiles() throws IOException {
+        try (IndexSegment.Writer writer = new IndexSegment.Writer(dir.resolve("seg.idx"))) {
+            writer.add(1L, "java", new long[]{1, 2});
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void openRejectsGarbage() throws IOException {
+        Path file = dir.resolve("bad.idx");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> IndexSegment.open(file));
+    }
+
+    // ---------- index ----------
+
+    @Test
+    void searchMatchesAllTermsNewestFirstAcrossMemoryAndDisk() throws IOException {
+        try (MessageIndex index = new MessageIndex(dir)) {
+            index.add(1, 10, 20, "React hooks intro");
+            index.add(2, 20, 10, "react is nice");
+            index.flush(2);
+            index.add(3, 10, 30, "more react HOOKS");
+
+            assertEquals(List.of(3L, 2L, 1L), index.search(10, "react", null, 10));
+            assertEquals(List.of(3L, 1L), index.search(10, "hooks react", null, 10));
+            assertEquals(List.of(1L), index.search(10, "react hooks", 3L, 10));
+            assertEquals(List.of(3L), index.search(10, "react", null, 1));
+            assertEquals(List.of(), index.search(10, "angular", null, 10));
+        }
+    }
+
+    @Test
+    void searchOnlySeesTheUsersOwnMessages() throws IOException {
+        try (MessageIndex index = new MessageIndex(dir)) {
+            index.add(1, 10, 20, "secret plan");
+            index.add(2, 30, 40, "secret plan");
+            assertEquals(List.of(1L), index.search(10, "secret", null, 10));
+            assertEquals(List.of(1L), index.search(20, "secret", null, 10));
+            assertEquals(List.of(2L), index.search(40, "secret", null, 10));
+            assertEquals(List.of(), index.search(50, "secret", null, 10));
+        }
+    }
+
+    @Test
+    void mergeFoldsSegmentsAndDropsDuplicates() throws IOException {
+        try (MessageIndex index = new MessageIndex(dir)) {
+            index.add(1, 10, 20, "java streams");
+            index.flush(1);
+            index.add(2, 10, 20, "java records");
+            index.flush(2);
+            index.add(1, 10, 20, "java streams"); // re-read by a sync
+            index.add(3, 20, 10, "kotlin");
+            index.flush(3);
+
+            assertFalse(index.merge(3));
+            assertTrue(index.merge(1));
+            assertEquals(List.of(2L, 1L), index.search(10, "java", null, 10));
+            assertEquals(List.of(3L), index.search(20, "kotlin", null, 10));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("manifest.properties", "seg-00000004.idx"),
+                    files.map(p -> p.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    @Test
+    void reopenRestoresSegmentsAndWatermark() throws IOException {
+        try (MessageIndex index = new MessageIndex(dir)) {
+            index.add(7, 10, 20, "hello world");
+            index.flush(5); // only ids <= 5 are known to be settled
+            index.add(8, 10, 20, "hello again"); // never flushed = lost on restart, re-read from the DB
+        }
+        try (MessageIndex index = new MessageIndex(dir)) {
+            assertEquals(5, index.watermark());
+            assertEquals(List.of(7L), index.search(10, "hello", null, 10));
+        }
+    }
+
+    @Test
+    void unionAndIntersect() {
+        assertArrayEquals(new long[]{1, 2, 3, 5}, MessageIndex.union(new long[]{1, 3, 5}, new long[]{2, 3}));
+        assertArrayEquals(new long[]{3}, MessageIndex.intersect(new long[]{1, 3, 5}, new long[]{2, 3}));
+        assertArrayEquals(new long[]{}, MessageIndex.intersect(new long[]{1}, new long[]{}));
+    }
+}
@@ -0,0 +1,139 @@
+package com.skillswap.service;
+
+import com.skillswap.model.Notification;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationFeedTests {
+
+    private static Notification notification(long id, boolean read) {
+        Notification n = new Notification();
+        n.setId(id);
+        n.setRecipientId(1L);
+        n.setType("TEST");
+        n.setRead(read);
+        return n;
+    }
+
+    private static NotificationService.Feed loadedFeed(int capacity) {
+        NotificationService.Feed feed = new NotificationService.Feed(capacity);
+        feed.loaded = true;
+        return feed;
+    }
+
+    private static List<Long> ids(List<Notification> items) {
+        return items.stream().map(Notification::getId).toList();
+    }
+
+    // ---------- push ----------
+
+    @Test
+    void pushKeepsNewestFirstAndCountsUnread() {
+        NotificationService.Feed feed = loadedFeed(10);
+        feed.push(notification(1, false));
+        feed.push(notification(2, true));
+        feed.push(notification(3, false));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(feed.newestBefore(null, 10)));
+        assertEquals(2, feed.unread);
+        assertEquals(3L, feed.newestId());
+    }
+
+    @Test
+    void pushIgnoresIdsAlreadyInTheFeed() {
+        NotificationService.Feed feed = loadedFeed(10);
+        feed.push(notification(5, false));
+        feed.push(notification(5, false)); // reload raced with publish: same row pushed twice
+
+        assertEquals(List.of(5L), ids(feed.newestBefore(null, 10)));
+        assertEquals(1, feed.unread);
+    }
+
+    @Test
+    void pushOutOfOrderInsertsInPlace() {
+        NotificationService.Feed feed = loadedFeed(10);
+        feed.push(notification(1, false));
+        feed.push(notification(4, false));
+        feed.push(notification(2, false));
+
+        assertEquals(List.of(4L, 2L, 1L), ids(feed.newestBefore(null, 10)));
+    }
+
+    @Test
+    void fullFeedDropsOldestAndRemembersThereIsMore() {
+        NotificationService.Feed feed = loadedFeed(3);
+        for (long id = 1; id <= 4; id++) feed.push(notification(id, false));
+
+        assertEquals(List.of(4L, 3L, 2L), ids(feed.newestBefore(null, 10)));
+        assertTrue(feed.hasOlder);
+        assertEquals(4, feed.unread);
+
+        // Older than anything kept: not stored, still unread in the table
+        feed.push(notification(0, false));
+        assertEquals(List.of(4L, 3L, 2L), ids(feed.newestBefore(null, 10)));
+        assertEquals(5, feed.unread);
+    }
+
+    @Test
+    void pushBeforeLoadDoesNotCount() {
+        NotificationService.Feed feed = new NotificationService.Feed(10);
+        feed.push(notification(1, false));
+        assertEquals(0, feed.unread); // the load sets unread from the table
+    }
+
+    // ---------- reading ----------
+
+    @Test
+    void newestBeforePagesByCursor() {
+        NotificationService.Feed feed = loadedFeed(10);
+        for (long id = 1; id <= 5; id++) feed.push(notification(id, false));
+
+        assertEquals(List.of(5L, 4L), ids(feed.newestBefore(null, 2)));
+        assertEquals(List.of(3L, 2L), ids(feed.newestBefore(4L, 2)));
+        assertEquals(List.of(), ids(feed.newestBefore(1L, 2)));
+        assertNull(new NotificationService.Feed(10).newestId());
+    }
+
+    // ---------- markRead ----------
+
+    @Test
+    void markReadUsesTheDatabaseCount() {
+        NotificationService.Feed feed = loadedFeed(10);
+        for (long id = 1; id <= 3; id++) feed.push(notification(id, false));
+
+        feed.markRead(Set.of(1L, 2L), 2);
+        assertEquals(1, feed.unread);
+        List<Notification> items = feed.newestBefore(null, 10);
+        assertFalse(items.get(0).isRead());
+        assertTrue(items.get(1).isRead());
+        assertTrue(items.get(2).isRead());
+
+        feed.markRead(Set.of(1L), 0); // already read: the UPDATE matched nothing
+        assertEquals(1, feed.unread);
+    }
+
+    @Test
+    void markAllReadNeverGoesNegative() {
+        NotificationService.Feed feed = loadedFeed(10);
+        feed.push(notification(1, false));
+
+        feed.markRead(null, 7); // rows outside the feed were unread too
+        assertEquals(0, feed.unread);
+        assertTrue(feed.newestBefore(null, 10).get(0).isRead());
+    }
+
+    @Test
+    void resetEmptiesTheFeed() {
+        NotificationService.Feed feed = loadedFeed(2);
+        for (long id = 1; id <= 3; id++) feed.push(notification(id, false));
+
+        feed.reset();
+        assertEquals(List.of(), ids(feed.newestBefore(null, 10)));
+        assertEquals(0, feed.unread);
+        assertFalse(feed.hasOlder);
+    }
+}